@@ -1,19 +1,32 @@
 package cn.myafx.data;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
+import java.sql.Statement;
 import java.sql.Types;
+import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
+import cn.myafx.data.dialect.Dialect;
 import cn.myafx.data.factory.DefaultObjectFactory;
 import cn.myafx.data.factory.ObjectFactory;
+import cn.myafx.data.mapping.BindingPlan;
+import cn.myafx.data.mapping.FieldInfo;
+import cn.myafx.data.mapping.ModelInfo;
+import cn.myafx.data.mapping.ModelMapper;
+import cn.myafx.data.mapping.ParamBinder;
 import cn.myafx.data.type.TypeHandler;
 import cn.myafx.data.type.TypeHandlerRegistry;
 
@@ -22,12 +35,27 @@ public abstract class Database implements IDatabase {
     private Connection connection = null;
     private Boolean is_tran = false;
     private Boolean is_close = true;
+    private boolean generateMapper = false;
+    private final StatementCache statementCache = new StatementCache(StatementCache.DEFAULT_SIZE);
+    private Interceptor[] interceptors = EMPTY_INTERCEPTORS;
+    private Dialect dialect = null;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int maxPacketSize = DEFAULT_MAX_PACKET_SIZE;
 
-    private final static int NOT_MODEL = Modifier.ABSTRACT | Modifier.STATIC | Modifier.FINAL | Modifier.STRICT;
-    private final static int CLASS_FIELD = Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE;
     protected final static TypeHandlerRegistry typeHandlerRegistry;
     private final static ObjectFactory objectFactory;
     private final static List<Class<?>> baseTypeList;
+    private final static Map<Class<?>, ModelMapper<?>> modelMapperMap;
+    // replaced when TypeHandlerRegistry register
+    private static volatile ClassValue<ModelInfo> modelInfoCache;
+    private final static int MAX_IN_SIZE = 512;
+    private final static int DEFAULT_BATCH_SIZE = 1000;
+    private final static int DEFAULT_MAX_PACKET_SIZE = 4 * 1024 * 1024;
+    private final static Interceptor[] EMPTY_INTERCEPTORS = new Interceptor[0];
+    private final static int MAX_SQL_CACHE_SIZE = 1024;
+    private final static int MAX_DIALECT_SIZE = 8;
+    private final static ClassValue<Map<Dialect, Map<String, String>>> columnCache;
+    private final static ClassValue<Map<Dialect, Map<String, SqlTemplate>>> crudSqlCache;
     static {
         typeHandlerRegistry = new TypeHandlerRegistry();
         objectFactory = new DefaultObjectFactory();
@@ -68,6 +96,48 @@ public abstract class Database implements IDatabase {
         baseTypeList.add(java.sql.Blob.class);
         baseTypeList.add(java.sql.Clob.class);
         baseTypeList.add(java.sql.NClob.class);
+
+        modelMapperMap = new HashMap<>();
+        var mapperIterator = ServiceLoader.load(ModelMapper.class).iterator();
+        while (hasNext(mapperIterator)) {
+            ModelMapper<?> mapper;
+            try {
+                mapper = mapperIterator.next();
+            } catch (ServiceConfigurationError ex) {
+                // skip bad entry, like class removed or not compiled
+                continue;
+            }
+            modelMapperMap.put(mapper.getType(), mapper);
+        }
+
+        modelInfoCache = newModelInfoCache();
+        // encodeColumn and crud sql per Database class and Dialect
+        columnCache = new ClassValue<Map<Dialect, Map<String, String>>>() {
+            @Override
+            protected Map<Dialect, Map<String, String>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+        crudSqlCache = new ClassValue<Map<Dialect, Map<String, SqlTemplate>>>() {
+            @Override
+            protected Map<Dialect, Map<String, SqlTemplate>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    /**
+     * ServiceLoader iterator hasNext, false if services file is error
+     * 
+     * @param iterator iterator
+     * @return boolean
+     */
+    private static boolean hasNext(Iterator<?> iterator) {
+        try {
+            return iterator.hasNext();
+        } catch (ServiceConfigurationError ex) {
+            return false;
+        }
     }
 
     /**
@@ -90,6 +160,132 @@ public abstract class Database implements IDatabase {
         return this.is_tran;
     }
 
+    /**
+     * is generate row mapper
+     * 
+     * @return boolean
+     */
+    public boolean isGenerateMapper() {
+        return this.generateMapper;
+    }
+
+    /**
+     * set generate row mapper, query model use runtime generated class per
+     * (model class, column layout) instead of reflection
+     * 
+     * @param generateMapper boolean
+     */
+    public void setGenerateMapper(boolean generateMapper) {
+        this.generateMapper = generateMapper;
+    }
+
+    /**
+     * PreparedStatement cache of current connection
+     * 
+     * @return StatementCache
+     */
+    public StatementCache getStatementCache() {
+        return this.statementCache;
+    }
+
+    /**
+     * batch row count per executeBatch
+     * 
+     * @return int
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * set batch row count per executeBatch
+     * 
+     * @param batchSize row count, default 1000
+     * @throws Exception
+     */
+    public void setBatchSize(int batchSize) throws Exception {
+        if (batchSize <= 0)
+            throw new Exception("batchSize is error!");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * max sql byte size of bulk insert
+     * 
+     * @return int
+     */
+    public int getMaxPacketSize() {
+        return this.maxPacketSize;
+    }
+
+    /**
+     * set max sql byte size of bulk insert, mysql: max_allowed_packet
+     * 
+     * @param maxPacketSize byte size, default 4M
+     * @throws Exception
+     */
+    public void setMaxPacketSize(int maxPacketSize) throws Exception {
+        if (maxPacketSize <= 0)
+            throw new Exception("maxPacketSize is error!");
+        this.maxPacketSize = maxPacketSize;
+    }
+
+    /**
+     * add statement interceptor, call in add order
+     * 
+     * @param interceptor Interceptor
+     * @throws Exception
+     */
+    public void addInterceptor(Interceptor interceptor) throws Exception {
+        if (interceptor == null)
+            throw new Exception("interceptor is null!");
+        var interceptors = Arrays.copyOf(this.interceptors, this.interceptors.length + 1);
+        interceptors[interceptors.length - 1] = interceptor;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * remove statement interceptor
+     * 
+     * @param interceptor Interceptor
+     */
+    public void removeInterceptor(Interceptor interceptor) {
+        var list = new ArrayList<>(Arrays.asList(this.interceptors));
+        if (list.remove(interceptor))
+            this.interceptors = list.isEmpty() ? EMPTY_INTERCEPTORS : list.toArray(new Interceptor[0]);
+    }
+
+    /**
+     * ResultSet reader
+     */
+    @FunctionalInterface
+    private interface ResultSetReader<T> {
+        T read(ResultSet resultSet) throws Exception;
+    }
+
+    /**
+     * prepareStatement from cache
+     * 
+     * @param sql sql
+     * @return StatementCache.Lease, close return statement to cache
+     * @throws Exception
+     */
+    private StatementCache.Lease prepareStatement(String sql) throws Exception {
+        return this.statementCache.prepare(this.connection, sql, false);
+    }
+
+    /**
+     * prepareStatement from cache
+     * 
+     * @param sql           sql
+     * @param generatedKeys RETURN_GENERATED_KEYS
+     * @return StatementCache.Lease, close return statement to cache
+     * @throws Exception
+     */
+    private StatementCache.Lease prepareStatement(String sql, boolean generatedKeys) throws Exception {
+        return this.statementCache.prepare(this.connection, sql, generatedKeys);
+    }
+
     /**
      * getConnection
      * 
@@ -98,13 +294,30 @@ public abstract class Database implements IDatabase {
      */
     protected abstract Connection getConnection() throws Exception;
 
+    /**
+     * getDialect
+     * 
+     * @return Dialect, default by connection DatabaseMetaData
+     * @throws Exception
+     */
+    protected Dialect getDialect() throws Exception {
+        if (this.dialect == null) {
+            this.open();
+            this.dialect = Dialect.of(this.connection.getMetaData());
+        }
+        return this.dialect;
+    }
+
     /**
      * encodeColumn
      * 
      * @param column name
      * @return mysql: `column`, ms sqlserver: [column]
+     * @throws Exception
      */
-    protected abstract String encodeColumn(String column);
+    protected String encodeColumn(String column) throws Exception {
+        return this.getDialect().quote(column);
+    }
 
     /**
      * open
@@ -199,6 +412,7 @@ public abstract class Database implements IDatabase {
                 this.rollback();
             } catch (Exception ex) {
             }
+            this.statementCache.clear();
             try {
                 this.connection.close();
             } catch (Exception ex) {
@@ -239,6 +453,37 @@ public abstract class Database implements IDatabase {
         return obj;
     }
 
+    /**
+     * getModelInfo
+     * 
+     * @param clazz model.class
+     * @return ModelInfo
+     */
+    private ModelInfo getModelInfo(Class<?> clazz) {
+        var modelInfo = modelInfoCache.get(clazz);
+        if (modelInfo.getVersion() != typeHandlerRegistry.getVersion()) {
+            // handler registered after resolved, resolve all model again
+            modelInfoCache = newModelInfoCache();
+            modelInfo = modelInfoCache.get(clazz);
+        }
+        return modelInfo;
+    }
+
+    /**
+     * newModelInfoCache
+     * 
+     * @return ClassValue
+     */
+    private static ClassValue<ModelInfo> newModelInfoCache() {
+        return new ClassValue<ModelInfo>() {
+            @Override
+            protected ModelInfo computeValue(Class<?> type) {
+                return new ModelInfo(type, baseTypeList.contains(type), typeHandlerRegistry,
+                        modelMapperMap.get(type));
+            }
+        };
+    }
+
     /**
      * checkModel
      * 
@@ -249,75 +494,38 @@ public abstract class Database implements IDatabase {
         if (clazz == null)
             throw new Exception("T class is null!");
 
-        if (baseTypeList.contains(clazz))
-            return;
-
-        if (clazz.isArray() || clazz.isEnum() || clazz.isInterface() || clazz.isAnonymousClass() || clazz.isAnnotation()
-                || (clazz.getModifiers() & NOT_MODEL) > 0)
-            throw new Exception("T(" + clazz.getSimpleName() + ") class is error!");
+        this.getModelInfo(clazz).checkModel();
     }
 
     /**
      * getFieldMap
      * 
      * @param clazz model.class
-     * @return Map&lt;String, Field&gt;
-     * @throws Exception
-     */
-    private Map<String, Field> getFieldMap(Class<?> clazz) throws Exception {
-        Map<String, Field> fieldMap = new LinkedHashMap<>();
-        var t = clazz;
-        while (!Object.class.equals(t)) {
-            var arr = t.getDeclaredFields();
-            for (Field f : arr) {
-                var modifiers = f.getModifiers();
-                if (modifiers == 0 || (modifiers & CLASS_FIELD) > 0) {
-                    fieldMap.put(f.getName(), f);
-                    if (!Modifier.isPublic(modifiers))
-                        f.setAccessible(true);
-                }
-            }
-            t = t.getSuperclass();
-        }
-
-        if (fieldMap.size() == 0)
-            throw new Exception("clazz(" + clazz.getName() + ") is error!");
-
-        return fieldMap;
+     * @return unmodifiable Map&lt;String, FieldInfo&gt;
+     * @throws Exception
+     */
+    private Map<String, FieldInfo> getFieldMap(Class<?> clazz) throws Exception {
+        return this.getModelInfo(clazz).getFieldMap();
     }
 
     /**
-     * setValue
+     * createModel
      * 
-     * @param m         model
-     * @param fieldMap  model field
+     * @param <T>       Model
+     * @param clazz     Model.class
+     * @param plan      BindingPlan
      * @param resultSet ResultSet
-     * @param metaData  ResultSetMetaData
-     * @param handerMap get column value Map
+     * @return Model
      * @throws Exception
      */
-    private void setValue(Object m, Map<String, Field> fieldMap, ResultSet resultSet, ResultSetMetaData metaData,
-            Map<String, TypeHandler<?>> handerMap) throws Exception {
-        var count = metaData.getColumnCount();
-        for (var i = 0; i < count; i++) {
-            var name = metaData.getColumnLabel(i + 1);
-            if (fieldMap.containsKey(name)) {
-                var field = fieldMap.get(name);
-                Object value = null;
-                TypeHandler<?> handler = null;
-                if (handerMap.containsKey(name)) {
-                    handler = handerMap.get(name);
-                } else {
-                    var ft = field.getType();
-                    handler = typeHandlerRegistry.getTypeHandler(ft);
-                    handerMap.put(name, handler);
-                }
-                if (handler != null)
-                    value = handler.getResult(resultSet, i + 1);
-                if (value != null)
-                    field.set(m, value);
-            }
-        }
+    @SuppressWarnings("unchecked")
+    private <T> T createModel(Class<T> clazz, BindingPlan plan, ResultSet resultSet) throws Exception {
+        if (plan.isConstructor())
+            return (T) plan.newInstance(resultSet);
+        var m = objectFactory.create(clazz);
+        plan.setValue(m, resultSet);
+
+        return m;
     }
 
     /**
@@ -333,17 +541,14 @@ public abstract class Database implements IDatabase {
     private <T> List<T> toListModel(ResultSet resultSet, Class<T> clazz) throws Exception {
         List<T> list = new ArrayList<T>();
 
-        var isBaseType = baseTypeList.contains(clazz);
-        Map<String, Field> fieldMap = null;
-        Map<String, TypeHandler<?>> handerMap = null;
-        ResultSetMetaData metaData = null;
+        var modelInfo = this.getModelInfo(clazz);
+        var isBaseType = modelInfo.isBaseType();
+        BindingPlan plan = null;
         TypeHandler<?> handler = null;
         if (isBaseType) {
-            handler = typeHandlerRegistry.getTypeHandler(clazz);
+            handler = modelInfo.getHandler();
         } else {
-            fieldMap = getFieldMap(clazz);
-            handerMap = new HashMap<>();
-            metaData = resultSet.getMetaData();
+            plan = modelInfo.getBindingPlan(resultSet.getMetaData(), this.generateMapper);
         }
 
         while (resultSet.next()) {
@@ -351,9 +556,7 @@ public abstract class Database implements IDatabase {
                 var m = (T) handler.getResult(resultSet, 1);
                 list.add(m);
             } else {
-                // var m = constructor.newInstance();
-                var m = objectFactory.create(clazz);
-                this.setValue(m, fieldMap, resultSet, metaData, handerMap);
+                var m = this.createModel(clazz, plan, resultSet);
                 list.add(m);
             }
         }
@@ -362,7 +565,10 @@ public abstract class Database implements IDatabase {
     }
 
     /**
-     * getParamInfo
+     * getParamInfo, Collection or array param expand to in list: empty list is
+     * in (null), not match any row, so empty list after not in is error; list
+     * larger than MAX_IN_SIZE split to several statement by next, insert,
+     * update or delete of the chunks is not atomic out of transaction
      * 
      * @param sql   sql text
      * @param param
@@ -371,584 +577,1835 @@ public abstract class Database implements IDatabase {
      */
     @SuppressWarnings("unchecked")
     private SqlParamInfo getParamInfo(String sql, Object[] param) throws Exception {
-        if (sql == null || sql.isEmpty()) {
-            throw new Exception("sql is null!");
-        }
-
+        var template = SqlTemplate.get(sql);
         SqlParamInfo result = new SqlParamInfo();
-        result.sql = sql;
-        if (sql.indexOf('?') > 0) {
+        result.sql = template.getSql();
+        result.template = template;
+        if (template.isPositional()) {
             result.param = param;
-        } else {
-            String openToken = "${";
-            String closeToken = "}";
-            var start = sql.indexOf(openToken);
-            if (start < 0) {
-                openToken = "#{";
-                start = sql.indexOf(openToken);
-            }
+            return result;
+        }
 
-            if (start > 0) {
-                if (param == null || param.length != 1)
-                    throw new Exception("parameter is error!");
-                var o = param[0];
-                Integer paramtype = 0;
-                Map<String, Object> map = null;
-                Map<String, Field> fieldMap = null;
-                if (o instanceof Map<?, ?> omap) {
-                    map = (Map<String, Object>) omap;
-                    if (map != null && map.size() > 0) {
-                        paramtype = 1;
-                    }
-                } else {
-                    var t = o.getClass();
-                    fieldMap = getFieldMap(t);
-                    if (fieldMap.size() > 0)
-                        paramtype = 2;
-                }
+        var names = template.getNames();
+        if (names.length == 0) {
+            result.param = new Object[0];
+            return result;
+        }
+        if (param == null || param.length != 1)
+            throw new Exception("parameter is error!");
+
+        var o = param[0];
+        if (o instanceof Map<?, ?> omap) {
+            var map = (Map<String, Object>) omap;
+            if (map.size() == 0)
+                throw new Exception("parameter type is error!");
+            var values = new Object[names.length];
+            for (var i = 0; i < names.length; i++) {
+                var v = map.get(names[i]);
+                if (v == null && !map.containsKey(names[i]))
+                    throw new Exception("not find " + template.getToken(i) + " parameter!");
+                values[i] = v;
+            }
+            result.param = values;
+            return this.getInParamInfo(template, result);
+        }
 
-                if (paramtype == 0)
-                    throw new Exception("parameter type is error!");
-
-                StringBuilder builder = new StringBuilder();
-                Integer appendStart = 0;
-                Integer offset = start + openToken.length();
-                Integer end = sql.indexOf(closeToken, offset);
-                List<Object> olist = new ArrayList<>();
-                while (start > 0 && end > start) {
-                    var name = sql.substring(offset, end);
-                    builder.append(sql.substring(appendStart, start));
-                    builder.append("?");
-                    if (paramtype == 1) {
-                        if (map.containsKey(name)) {
-                            olist.add(map.get(name));
-                        } else {
-                            throw new Exception("not find " + openToken + name + closeToken + " parameter!");
-                        }
-                    } else {
-                        Object v = null;
-                        if (fieldMap.containsKey(name)) {
-                            var field = fieldMap.get(name);
-                            v = field.get(o);
-                        } else {
-                            throw new Exception("not find " + openToken + name + closeToken + " parameter!");
-                        }
-                        olist.add(v);
-                    }
-                    appendStart = end + closeToken.length();
-                    start = sql.indexOf(openToken, appendStart);
-                    if (start < 0)
-                        break;
-                    offset = start + openToken.length();
-                    end = sql.indexOf(closeToken, offset);
-                }
-                if (appendStart < sql.length()) {
-                    builder.append(sql.substring(appendStart));
+        // model param, bind field to statement directly
+        var clazz = o.getClass();
+        var binder = template.getBinder(clazz);
+        if (binder == null || !binder.isCurrent()) {
+            var modelInfo = this.getModelInfo(clazz);
+            var fieldMap = modelInfo.getFieldMap();
+            if (fieldMap.size() == 0)
+                throw new Exception("parameter type is error!");
+            var fields = new FieldInfo[names.length];
+            var isList = false;
+            for (var i = 0; i < names.length; i++) {
+                fields[i] = fieldMap.get(names[i]);
+                if (fields[i] == null)
+                    throw new Exception("not find " + template.getToken(i) + " parameter!");
+                isList = isList || this.isListType(fields[i].getType());
+            }
+            if (isList) {
+                // Collection or array field expand to in list
+                var values = new Object[names.length];
+                for (var i = 0; i < names.length; i++) {
+                    values[i] = fields[i].get(o);
                 }
-                result.sql = builder.toString();
-                result.param = olist.toArray();
-
+                result.param = values;
+                return this.getInParamInfo(template, result);
             }
+            binder = new ParamBinder(fields, modelInfo, typeHandlerRegistry);
+            template.putBinder(clazz, binder);
         }
+        result.binder = binder;
+        result.model = o;
 
         return result;
     }
 
     /**
-     * execute sql
+     * isListType, Collection or array without type handler
      * 
-     * @param sql   update/delete/insert; param: ? or ${name} or #{name}
-     * @param param update tb set name = ? where id = ? param is Object[];
-     *              update tb set name = ${mame} where id = ${id} param is model or
-     *              Map&lt;String, Object&gt;
-     * @return int
+     * @param clazz value type
+     * @return boolean
      * @throws Exception
      */
-    @Override
-    public int execute(String sql, Object... param) throws Exception {
-        int result = 0;
-        this.open();
-        if (param == null || param.length == 0) {
-            try (var statement = this.connection.createStatement()) {
-                result = statement.executeUpdate(sql);
-            }
-        } else {
-            var sqlparam = this.getParamInfo(sql, param);
-            try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-                for (var i = 0; i < sqlparam.param.length; i++) {
-                    var o = sqlparam.param[i];
-                    if (o != null) {
-                        var t = o.getClass();
-                        var handler = typeHandlerRegistry.getTypeHandler(t);
-                        handler.setParameter(statement, i + 1, o);
-                    } else {
-                        statement.setNull(i + 1, Types.VARCHAR);
-                    }
-                }
-                result = statement.executeUpdate();
-            }
-        }
-
-        return result;
+    private boolean isListType(Class<?> clazz) throws Exception {
+        if (Collection.class.isAssignableFrom(clazz))
+            return true;
+        return clazz.isArray() && typeHandlerRegistry.getDefaultTypeHandler(clazz) == null;
     }
 
     /**
-     * toModel
+     * toList
      * 
-     * @param <T>       Model
-     * @param resultSet ResultSet
-     * @param clazz     Model.class
-     * @return Model
+     * @param value param value
+     * @return Object[], null if not Collection or array
      * @throws Exception
      */
-    @SuppressWarnings("unchecked")
-    private <T> T toModel(ResultSet resultSet, Class<T> clazz) throws Exception {
-        T m;
-        var isBaseType = baseTypeList.contains(clazz);
-        Map<String, Field> fieldMap = null;
-        Map<String, TypeHandler<?>> handerMap = null;
-        ResultSetMetaData metaData = null;
-        TypeHandler<?> handler = null;
-        if (isBaseType) {
-            handler = typeHandlerRegistry.getTypeHandler(clazz);
-        } else {
-            fieldMap = getFieldMap(clazz);
-            handerMap = new HashMap<>();
-            metaData = resultSet.getMetaData();
-        }
-
-        if (resultSet.next()) {
-            if (isBaseType) {
-                m = (T) handler.getResult(resultSet, 1);
-            } else {
-                m = objectFactory.create(clazz);
-                this.setValue(m, fieldMap, resultSet, metaData, handerMap);
-            }
-        } else {
-            m = (T) getDefault(clazz);
+    private Object[] toList(Object value) throws Exception {
+        if (value == null)
+            return null;
+        if (value instanceof Collection<?> c)
+            return c.toArray();
+        if (!this.isListType(value.getClass()))
+            return null;
+        if (value instanceof Object[] arr)
+            return arr;
+        var length = Array.getLength(value);
+        var arr = new Object[length];
+        for (var i = 0; i < length; i++) {
+            arr[i] = Array.get(value, i);
         }
-
-        return m;
+        return arr;
     }
 
     /**
-     * query first model
+     * getInParamInfo, expand Collection or array param to in list, slot count
+     * padded to power of two by repeat last value, split large list to chunk,
+     * only one list can be larger than MAX_IN_SIZE
      * 
-     * @param <T>   model
-     * @param sql   select sql; param: ? or ${name} or #{name}
-     * @param clazz T.class
-     * @param param select id, name from tb where id = ? param is Object[];
-     *              select id, name from tb where id = ${id} param is model or
-     *              Map&lt;String, Object&gt;
-     * @return first model
+     * @param template SqlTemplate
+     * @param info     SqlParamInfo with named param value
+     * @return SqlParamInfo, next is chunk
      * @throws Exception
      */
-    @Override
-    public <T> T queryOne(String sql, Class<T> clazz, Object... param) throws Exception {
-        this.checkModel(clazz);
-        this.open();
-        if (param == null || param.length == 0) {
-            try (var statement = this.connection.createStatement()) {
-                try (var resultSet = statement.executeQuery(sql)) {
-                    var m = this.toModel(resultSet, clazz);
-                    return m;
+    private SqlParamInfo getInParamInfo(SqlTemplate template, SqlParamInfo info) throws Exception {
+        var values = info.param;
+        Object[][] lists = null;
+        var chunkIndex = -1;
+        for (var i = 0; i < values.length; i++) {
+            var list = this.toList(values[i]);
+            if (list != null) {
+                if (lists == null)
+                    lists = new Object[values.length][];
+                lists[i] = list;
+                if (list.length == 0 && template.isNotIn(i))
+                    throw new Exception(template.getToken(i) + " is empty in not in is error!");
+                if (list.length > MAX_IN_SIZE) {
+                    if (chunkIndex >= 0)
+                        throw new Exception(template.getToken(chunkIndex) + " and " + template.getToken(i)
+                                + " size more than " + MAX_IN_SIZE + " is error!");
+                    chunkIndex = i;
                 }
             }
-        } else {
-            var sqlparam = this.getParamInfo(sql, param);
-            try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-                for (var i = 0; i < sqlparam.param.length; i++) {
-                    var o = sqlparam.param[i];
-                    if (o != null) {
-                        var t = o.getClass();
-                        var handler = typeHandlerRegistry.getTypeHandler(t);
-                        handler.setParameter(statement, i + 1, o);
-                    } else {
-                        statement.setNull(i + 1, Types.VARCHAR);
-                    }
+        }
+        if (lists == null)
+            return info;
+
+        var chunkList = chunkIndex >= 0 ? lists[chunkIndex] : null;
+        SqlParamInfo first = null;
+        SqlParamInfo last = null;
+        var offset = 0;
+        do {
+            if (chunkList != null)
+                lists[chunkIndex] = Arrays.copyOfRange(chunkList, offset,
+                        Math.min(offset + MAX_IN_SIZE, chunkList.length));
+            var slots = new int[values.length];
+            var count = 0;
+            for (var i = 0; i < values.length; i++) {
+                if (lists[i] != null) {
+                    var size = lists[i].length;
+                    slots[i] = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+                    count += slots[i];
+                } else {
+                    count++;
                 }
-                try (var resultSet = statement.executeQuery()) {
-                    var m = this.toModel(resultSet, clazz);
-                    return m;
+            }
+            var param = new Object[count];
+            var index = 0;
+            for (var i = 0; i < values.length; i++) {
+                var list = lists[i];
+                if (list == null) {
+                    param[index++] = values[i];
+                } else {
+                    // empty list is in (null)
+                    var lastValue = list.length > 0 ? list[list.length - 1] : null;
+                    for (var j = 0; j < slots[i]; j++) {
+                        param[index++] = j < list.length ? list[j] : lastValue;
+                    }
                 }
             }
-        }
+            var chunk = new SqlParamInfo();
+            chunk.sql = template.getSql(slots);
+            chunk.param = param;
+            // not SqlTemplate.get(chunk.sql), expanded sql not in template cache
+            chunk.template = template;
+            if (first == null)
+                first = chunk;
+            else
+                last.next = chunk;
+            last = chunk;
+            offset += MAX_IN_SIZE;
+        } while (chunkList != null && offset < chunkList.length);
+
+        return first;
     }
 
     /**
-     * query List
+     * setParameter
      * 
-     * @param <T>   model
-     * @param sql   select sql; param: ? or ${name} or #{name}
-     * @param clazz T.class
-     * @param param select id, name from tb where id = ? param is Object[];
-     *              select id, name from tb where id = ${id} param is model or
-     *              Map&lt;String, Object&gt;
-     * @return List
+     * @param statement PreparedStatement
+     * @param sqlparam  SqlParamInfo
      * @throws Exception
      */
-    @Override
-    public <T> List<T> queryList(String sql, Class<T> clazz, Object... param) throws Exception {
-        List<T> list = null;
-        this.checkModel(clazz);
-        this.open();
-        if (param == null || param.length == 0) {
-            try (var statement = this.connection.createStatement()) {
-                try (var resultSet = statement.executeQuery(sql)) {
-                    list = toListModel(resultSet, clazz);
-                }
-            }
-        } else {
-            var sqlparam = this.getParamInfo(sql, param);
-            try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-                for (var i = 0; i < sqlparam.param.length; i++) {
-                    var o = sqlparam.param[i];
-                    if (o != null) {
-                        var t = o.getClass();
-                        var handler = typeHandlerRegistry.getTypeHandler(t);
-                        handler.setParameter(statement, i + 1, o);
-                    } else {
-                        statement.setNull(i + 1, Types.VARCHAR);
-                    }
-                }
-                try (var resultSet = statement.executeQuery()) {
-                    list = toListModel(resultSet, clazz);
+    private void setParameter(PreparedStatement statement, SqlParamInfo sqlparam) throws Exception {
+        if (sqlparam.binder != null) {
+            sqlparam.binder.setParameter(statement, sqlparam.model);
+            return;
+        }
+        int[] nullTypes = null;
+        for (var i = 0; i < sqlparam.param.length; i++) {
+            var o = sqlparam.param[i];
+            if (o != null) {
+                var handler = typeHandlerRegistry.getDefaultTypeHandler(o.getClass());
+                handler.setParameter(statement, i + 1, o);
+            } else if (sqlparam.handlers != null && sqlparam.handlers[i] != null) {
+                // null with model field type
+                sqlparam.handlers[i].setParameter(statement, i + 1, null);
+            } else {
+                if (nullTypes == null) {
+                    // once per statement, loaded once per sql by template
+                    nullTypes = sqlparam.template != null ? sqlparam.template.getNullTypes(statement, sqlparam.sql)
+                            : ParamBinder.getNullTypes(statement);
                 }
+                statement.setNull(i + 1, i < nullTypes.length ? nullTypes[i] : Types.VARCHAR);
             }
         }
+    }
 
-        return list;
+    /**
+     * getHandlers
+     * 
+     * @param fieldMap model field, null if not model
+     * @param keys     param name in sql order
+     * @return TypeHandler[], null if fieldMap is null
+     */
+    private static TypeHandler<?>[] getHandlers(Map<String, FieldInfo> fieldMap, String[]... keys) {
+        if (fieldMap == null)
+            return null;
+        var count = 0;
+        for (var k : keys) {
+            count += k.length;
+        }
+        var handlers = new TypeHandler<?>[count];
+        var i = 0;
+        for (var k : keys) {
+            for (var key : k) {
+                var field = fieldMap.get(key);
+                handlers[i++] = field != null ? field.getHandler() : null;
+            }
+        }
+        return handlers;
     }
 
     /**
-     * toMap
+     * getSqlCache, per Database class and getDialect
      * 
-     * @param resultSet ResultSet
+     * @param <V>   String or SqlTemplate
+     * @param cache columnCache or crudSqlCache
      * @return Map
      * @throws Exception
      */
-    private Map<String, Object> toMap(ResultSet resultSet) throws Exception {
-        Map<String, Object> map = null;
-        if (resultSet.next()) {
-            var metaData = resultSet.getMetaData();
-            var count = metaData.getColumnCount();
-            map = new HashMap<String, Object>(count);
-            for (var i = 0; i < count; i++) {
-                var name = metaData.getColumnLabel(i + 1);
-                var value = resultSet.getObject(i + 1);
-                map.put(name, value);
-            }
+    private <V> Map<String, V> getSqlCache(ClassValue<Map<Dialect, Map<String, V>>> cache) throws Exception {
+        var dialectMap = cache.get(this.getClass());
+        var dialect = this.getDialect();
+        var map = dialectMap.get(dialect);
+        if (map == null) {
+            // getDialect may return new instance every time
+            if (dialectMap.size() >= MAX_DIALECT_SIZE)
+                dialectMap.clear();
+            map = dialectMap.computeIfAbsent(dialect, k -> new ConcurrentHashMap<>());
         }
-
         return map;
     }
 
     /**
-     * query first Map&lt;String, Object&gt;
+     * getColumn, encodeColumn once per Database class and Dialect
      * 
-     * @param sql   select sql; param: ? or ${name} or #{name}
-     * @param param select id, name from tb where id = ? param is Object[];
-     *              select id, name from tb where id = ${id} param is model or
-     *              Map&lt;String, Object&gt;
-     * @return first Map&lt;String, Object&gt;
+     * @param name column or table name
+     * @return encode name
      * @throws Exception
      */
-    @Override
-    public Map<String, Object> queryOneMap(String sql, Object... param) throws Exception {
-        Map<String, Object> map = null;
-        this.open();
+    private String getColumn(String name) throws Exception {
+        var map = this.getSqlCache(columnCache);
+        var column = map.get(name);
+        if (column == null) {
+            column = this.encodeColumn(name);
+            if (map.size() >= MAX_SQL_CACHE_SIZE)
+                map.clear();
+            map.put(name, column);
+        }
+        return column;
+    }
+
+    /**
+     * getColumns, encodeColumn names
+     * 
+     * @param names column name
+     * @return encode names, null if names is null
+     * @throws Exception
+     */
+    private String[] getColumns(String[] names) throws Exception {
+        if (names == null)
+            return null;
+        var columns = new String[names.length];
+        for (var i = 0; i < names.length; i++) {
+            columns[i] = this.getColumn(names[i]);
+        }
+        return columns;
+    }
+
+    /**
+     * getKeys, sorted so sql text not depend on Map order
+     * 
+     * @param param param
+     * @return String[]
+     */
+    private static String[] getKeys(Map<String, Object> param) {
+        if (param == null || param.size() == 0)
+            return new String[0];
+        var keys = param.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * getValues
+     * 
+     * @param param  param
+     * @param keys   param name in sql order
+     * @param values value array
+     * @param offset start index of values
+     * @return next index
+     */
+    private static int getValues(Map<String, Object> param, String[] keys, Object[] values, int offset) {
+        for (var key : keys) {
+            values[offset++] = param.get(key);
+        }
+        return offset;
+    }
+
+    /**
+     * getCrudSql
+     * 
+     * @param key cache key
+     * @return SqlTemplate, null if not cached
+     * @throws Exception
+     */
+    private SqlTemplate getCrudSql(String key) throws Exception {
+        return this.getSqlCache(crudSqlCache).get(key);
+    }
+
+    /**
+     * putCrudSql, crud sql template keep null parameter type, not put in
+     * SqlTemplate cache
+     * 
+     * @param key cache key
+     * @param sql sql
+     * @return SqlTemplate
+     * @throws Exception
+     */
+    private SqlTemplate putCrudSql(String key, String sql) throws Exception {
+        var map = this.getSqlCache(crudSqlCache);
+        if (map.size() >= MAX_SQL_CACHE_SIZE)
+            map.clear();
+        var template = SqlTemplate.of(sql);
+        map.put(key, template);
+        return template;
+    }
+
+    /**
+     * getCrudKey
+     * 
+     * @param type  crud type
+     * @param table table name or model class name
+     * @param keys  param name
+     * @return cache key
+     */
+    private static String getCrudKey(char type, String table, String[]... keys) {
+        var builder = new StringBuilder(64);
+        builder.append(type).append(table);
+        for (var k : keys) {
+            builder.append('\1');
+            for (var key : k) {
+                builder.append('\0').append(key);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * getSqlParam
+     * 
+     * @param sql   sql text
+     * @param param param
+     * @return SqlParamInfo
+     * @throws Exception
+     */
+    private SqlParamInfo getSqlParam(String sql, Object[] param) throws Exception {
         if (param == null || param.length == 0) {
+            if (sql == null || sql.isEmpty())
+                throw new Exception("sql is null!");
+            var result = new SqlParamInfo();
+            result.sql = sql;
+            return result;
+        }
+
+        return this.getParamInfo(sql, param);
+    }
+
+    /**
+     * isPlain, sql not has parameter, use Statement
+     * 
+     * @param sqlparam SqlParamInfo
+     * @return boolean
+     */
+    private static boolean isPlain(SqlParamInfo sqlparam) {
+        return sqlparam.binder == null && (sqlparam.param == null || sqlparam.param.length == 0);
+    }
+
+    /**
+     * executeUpdate, in list chunk sum count
+     * 
+     * @param sqlparam SqlParamInfo
+     * @return int
+     * @throws Exception
+     */
+    private int executeUpdate(SqlParamInfo sqlparam) throws Exception {
+        int result = 0;
+        for (; sqlparam != null; sqlparam = sqlparam.next) {
+            result += this.<Integer>execute(sqlparam, null);
+        }
+
+        return result;
+    }
+
+    /**
+     * execute statement
+     * 
+     * @param <T>      result
+     * @param sqlparam SqlParamInfo
+     * @param reader   ResultSet reader, null is update and return count
+     * @return result
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T execute(SqlParamInfo sqlparam, ResultSetReader<T> reader) throws Exception {
+        return this.execute(sqlparam, reader, null);
+    }
+
+    /**
+     * execute statement
+     * 
+     * @param <T>       result
+     * @param sqlparam  SqlParamInfo
+     * @param reader    ResultSet reader, null is update and return count
+     * @param keyReader update generated keys reader, null is not return keys
+     * @return result
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T execute(SqlParamInfo sqlparam, ResultSetReader<T> reader, ResultSetReader<?> keyReader)
+            throws Exception {
+        this.open();
+        if (this.interceptors.length > 0)
+            return this.intercept(sqlparam, reader, keyReader);
+
+        if (keyReader == null && isPlain(sqlparam)) {
             try (var statement = this.connection.createStatement()) {
-                try (var resultSet = statement.executeQuery(sql)) {
-                    map = this.toMap(resultSet);
+                if (reader == null)
+                    return (T) (Integer) statement.executeUpdate(sqlparam.sql);
+                try (var resultSet = statement.executeQuery(sqlparam.sql)) {
+                    return reader.read(resultSet);
                 }
             }
-        } else {
-            var sqlparam = this.getParamInfo(sql, param);
-            try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-                for (var i = 0; i < sqlparam.param.length; i++) {
-                    var o = sqlparam.param[i];
-                    if (o != null) {
-                        var t = o.getClass();
-                        var handler = typeHandlerRegistry.getTypeHandler(t);
-                        handler.setParameter(statement, i + 1, o);
-                    } else {
-                        statement.setNull(i + 1, Types.VARCHAR);
-                    }
+        }
+        try (var cached = this.prepareStatement(sqlparam.sql, keyReader != null)) {
+            var statement = cached.getStatement();
+            this.setParameter(statement, sqlparam);
+            if (reader == null) {
+                var count = statement.executeUpdate();
+                if (keyReader != null)
+                    readKeys(statement, keyReader);
+                return (T) (Integer) count;
+            }
+            try (var resultSet = statement.executeQuery()) {
+                return reader.read(resultSet);
+            }
+        }
+    }
+
+    /**
+     * read generated keys
+     * 
+     * @param statement executed statement
+     * @param keyReader generated keys reader
+     * @throws Exception
+     */
+    private static void readKeys(Statement statement, ResultSetReader<?> keyReader) throws Exception {
+        try (var resultSet = statement.getGeneratedKeys()) {
+            keyReader.read(resultSet);
+        }
+    }
+
+    /**
+     * execute statement with interceptor
+     * 
+     * @param <T>       result
+     * @param sqlparam  SqlParamInfo
+     * @param reader    ResultSet reader, null is update and return count
+     * @param keyReader update generated keys reader, null is not return keys
+     * @return result
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T intercept(SqlParamInfo sqlparam, ResultSetReader<T> reader, ResultSetReader<?> keyReader)
+            throws Exception {
+        var interceptors = this.interceptors;
+        var sql = sqlparam.sql;
+        try {
+            for (var interceptor : interceptors) {
+                sql = interceptor.beforePrepare(sql);
+            }
+            final var prepareSql = sql;
+            if (keyReader == null && isPlain(sqlparam)) {
+                try (var statement = this.connection.createStatement()) {
+                    return aroundExecute(interceptors, 0, prepareSql, () -> {
+                        if (reader == null)
+                            return (T) (Integer) statement.executeUpdate(prepareSql);
+                        try (var resultSet = statement.executeQuery(prepareSql)) {
+                            for (var interceptor : interceptors) {
+                                interceptor.onResultSet(prepareSql, resultSet);
+                            }
+                            return reader.read(resultSet);
+                        }
+                    });
                 }
-                try (var resultSet = statement.executeQuery()) {
-                    map = this.toMap(resultSet);
+            }
+            try (var cached = this.prepareStatement(prepareSql, keyReader != null)) {
+                var statement = cached.getStatement();
+                this.setParameter(statement, sqlparam);
+                for (var interceptor : interceptors) {
+                    interceptor.afterBind(prepareSql, statement);
+                }
+                return aroundExecute(interceptors, 0, prepareSql, () -> {
+                    if (reader == null) {
+                        var count = statement.executeUpdate();
+                        if (keyReader != null)
+                            readKeys(statement, keyReader);
+                        return (T) (Integer) count;
+                    }
+                    try (var resultSet = statement.executeQuery()) {
+                        for (var interceptor : interceptors) {
+                            interceptor.onResultSet(prepareSql, resultSet);
+                        }
+                        return reader.read(resultSet);
+                    }
+                });
+            }
+        } catch (Exception ex) {
+            for (var interceptor : interceptors) {
+                interceptor.onError(sql, ex);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * batch row values
+     */
+    @FunctionalInterface
+    private interface BatchRow {
+        void setValues(int index, Object[] values, int offset) throws Exception;
+    }
+
+    /**
+     * write generated keys to row [start, end)
+     */
+    @FunctionalInterface
+    private interface KeyWriter {
+        void write(ResultSet keys, int start, int end) throws Exception;
+    }
+
+    /**
+     * executeBatch, addBatch every row and executeBatch every batchSize row
+     * 
+     * @param sqlparam  SqlParamInfo, param is row values buffer
+     * @param rowCount  row count
+     * @param row       set row values to buffer
+     * @param keyWriter write generated keys to row, null is not return keys
+     * @return update count per row
+     * @throws Exception
+     */
+    private int[] executeBatch(SqlParamInfo sqlparam, int rowCount, BatchRow row, KeyWriter keyWriter)
+            throws Exception {
+        this.open();
+        var interceptors = this.interceptors;
+        var sql = sqlparam.sql;
+        var result = new int[rowCount];
+        try {
+            for (var interceptor : interceptors) {
+                sql = interceptor.beforePrepare(sql);
+            }
+            final var prepareSql = sql;
+            try (var cached = this.prepareStatement(prepareSql, keyWriter != null)) {
+                var statement = cached.getStatement();
+                try {
+                    for (var start = 0; start < rowCount; start += this.batchSize) {
+                        var end = Math.min(rowCount, start + this.batchSize);
+                        for (var i = start; i < end; i++) {
+                            row.setValues(i, sqlparam.param, 0);
+                            this.setParameter(statement, sqlparam);
+                            statement.addBatch();
+                        }
+                        int[] counts;
+                        if (interceptors.length == 0) {
+                            counts = statement.executeBatch();
+                        } else {
+                            for (var interceptor : interceptors) {
+                                interceptor.afterBind(prepareSql, statement);
+                            }
+                            counts = aroundExecute(interceptors, 0, prepareSql, statement::executeBatch);
+                        }
+                        System.arraycopy(counts, 0, result, start, Math.min(counts.length, end - start));
+                        if (keyWriter != null) {
+                            final var first = start;
+                            final var last = end;
+                            readKeys(statement, keys -> {
+                                keyWriter.write(keys, first, last);
+                                return null;
+                            });
+                        }
+                    }
+                } catch (Exception ex) {
+                    // cached statement must not keep pending rows
+                    statement.clearBatch();
+                    throw ex;
                 }
             }
+        } catch (Exception ex) {
+            for (var interceptor : interceptors) {
+                interceptor.onError(sql, ex);
+            }
+            throw ex;
+        }
+
+        return result;
+    }
+
+    /**
+     * aroundExecute chain
+     * 
+     * @param <T>          result
+     * @param interceptors interceptor
+     * @param index        current interceptor
+     * @param sql          sql
+     * @param execution    execute statement
+     * @return result
+     * @throws Exception
+     */
+    private static <T> T aroundExecute(Interceptor[] interceptors, int index, String sql,
+            Interceptor.Execution<T> execution) throws Exception {
+        if (index == interceptors.length)
+            return execution.execute();
+        return interceptors[index].aroundExecute(sql,
+                () -> aroundExecute(interceptors, index + 1, sql, execution));
+    }
+
+    /**
+     * execute sql
+     * 
+     * @param sql   update/delete/insert; param: ? or ${name} or #{name}
+     * @param param update tb set name = ? where id = ? param is Object[];
+     *              update tb set name = ${mame} where id = ${id} param is model or
+     *              Map&lt;String, Object&gt;; Collection or array param is in
+     *              list, more than 512 value execute several statement, use
+     *              transaction to be atomic
+     * @return int
+     * @throws Exception
+     */
+    @Override
+    public int execute(String sql, Object... param) throws Exception {
+        return this.executeUpdate(this.getSqlParam(sql, param));
+    }
+
+    /**
+     * toModel
+     * 
+     * @param <T>       Model
+     * @param resultSet ResultSet
+     * @param clazz     Model.class
+     * @return Model
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T toModel(ResultSet resultSet, Class<T> clazz) throws Exception {
+        T m;
+        var modelInfo = this.getModelInfo(clazz);
+        var isBaseType = modelInfo.isBaseType();
+        BindingPlan plan = null;
+        TypeHandler<?> handler = null;
+        if (isBaseType) {
+            handler = modelInfo.getHandler();
+        } else {
+            plan = modelInfo.getBindingPlan(resultSet.getMetaData(), this.generateMapper);
+        }
+
+        if (resultSet.next()) {
+            if (isBaseType) {
+                m = (T) handler.getResult(resultSet, 1);
+            } else {
+                m = this.createModel(clazz, plan, resultSet);
+            }
+        } else {
+            m = (T) getDefault(clazz);
+        }
+
+        return m;
+    }
+
+    /**
+     * query first model
+     * 
+     * @param <T>   model
+     * @param sql   select sql; param: ? or ${name} or #{name}
+     * @param clazz T.class
+     * @param param select id, name from tb where id = ? param is Object[];
+     *              select id, name from tb where id = ${id} param is model or
+     *              Map&lt;String, Object&gt;
+     * @return first model; in list more than 512 value query chunk until row
+     *         found, T is base type like count(*) is error
+     * @throws Exception
+     */
+    @Override
+    public <T> T queryOne(String sql, Class<T> clazz, Object... param) throws Exception {
+        this.checkModel(clazz);
+        var sqlparam = this.getSqlParam(sql, param);
+        if (sqlparam.next == null)
+            return this.execute(sqlparam, resultSet -> this.toModel(resultSet, clazz));
+        // base type is default value if not found, and aggregate like count(*)
+        // is per chunk
+        if (this.getModelInfo(clazz).isBaseType())
+            throw new Exception("T(" + clazz.getSimpleName() + ") query with in list size more than " + MAX_IN_SIZE
+                    + " is error!");
+        T m = null;
+        // in list chunk, first chunk has row, model is not null if row found
+        for (; sqlparam != null; sqlparam = sqlparam.next) {
+            m = this.execute(sqlparam, resultSet -> this.toModel(resultSet, clazz));
+            if (m != null)
+                break;
+        }
+
+        return m;
+    }
+
+    /**
+     * query List
+     * 
+     * @param <T>   model
+     * @param sql   select sql; param: ? or ${name} or #{name}
+     * @param clazz T.class
+     * @param param select id, name from tb where id = ? param is Object[];
+     *              select id, name from tb where id = ${id} param is model or
+     *              Map&lt;String, Object&gt;
+     * @return List
+     * @throws Exception
+     */
+    @Override
+    public <T> List<T> queryList(String sql, Class<T> clazz, Object... param) throws Exception {
+        List<T> list = null;
+        this.checkModel(clazz);
+        // in list chunk, merge result
+        for (var sqlparam = this.getSqlParam(sql, param); sqlparam != null; sqlparam = sqlparam.next) {
+            var chunk = this.execute(sqlparam, resultSet -> this.toListModel(resultSet, clazz));
+            if (list == null)
+                list = chunk;
+            else
+                list.addAll(chunk);
+        }
+
+        return list;
+    }
+
+    /**
+     * toMap
+     * 
+     * @param resultSet ResultSet
+     * @return Map
+     * @throws Exception
+     */
+    private Map<String, Object> toMap(ResultSet resultSet) throws Exception {
+        Map<String, Object> map = null;
+        if (resultSet.next()) {
+            var metaData = resultSet.getMetaData();
+            var count = metaData.getColumnCount();
+            map = new HashMap<String, Object>(count);
+            for (var i = 0; i < count; i++) {
+                var name = metaData.getColumnLabel(i + 1);
+                var value = resultSet.getObject(i + 1);
+                map.put(name, value);
+            }
         }
 
-        return map;
+        return map;
+    }
+
+    /**
+     * query first Map&lt;String, Object&gt;
+     * 
+     * @param sql   select sql; param: ? or ${name} or #{name}
+     * @param param select id, name from tb where id = ? param is Object[];
+     *              select id, name from tb where id = ${id} param is model or
+     *              Map&lt;String, Object&gt;
+     * @return first Map&lt;String, Object&gt;
+     * @throws Exception
+     */
+    @Override
+    public Map<String, Object> queryOneMap(String sql, Object... param) throws Exception {
+        Map<String, Object> map = null;
+        // in list chunk, first found
+        for (var sqlparam = this.getSqlParam(sql, param); sqlparam != null; sqlparam = sqlparam.next) {
+            map = this.execute(sqlparam, this::toMap);
+            if (map != null)
+                break;
+        }
+
+        return map;
+    }
+
+    /**
+     * toListMap
+     * 
+     * @param resultSet ResultSet
+     * @return List Map
+     * @throws Exception
+     */
+    private List<Map<String, Object>> toListMap(ResultSet resultSet) throws Exception {
+        List<Map<String, Object>> list = new ArrayList<Map<String, Object>>();
+        var metaData = resultSet.getMetaData();
+        var count = metaData.getColumnCount();
+        while (resultSet.next()) {
+            Map<String, Object> map = new HashMap<>(count);
+            for (var i = 0; i < count; i++) {
+                var name = metaData.getColumnLabel(i + 1);
+                var value = resultSet.getObject(i + 1);
+                map.put(name, value);
+            }
+            list.add(map);
+        }
+
+        return list;
+    }
+
+    /**
+     * query List Map&lt;String, Object&gt;
+     * 
+     * @param sql   select sql; param: ? or ${name} or #{name}
+     * @param param select id, name from tb where id = ? param is Object[];
+     *              select id, name from tb where id = ${id} param is model or
+     *              Map&lt;String, Object&gt;
+     * @return List Map String, Object
+     * @throws Exception
+     */
+    @Override
+    public List<Map<String, Object>> queryListMap(String sql, Object... param) throws Exception {
+        List<Map<String, Object>> list = null;
+        // in list chunk, merge result
+        for (var sqlparam = this.getSqlParam(sql, param); sqlparam != null; sqlparam = sqlparam.next) {
+            var chunk = this.execute(sqlparam, this::toListMap);
+            if (list == null)
+                list = chunk;
+            else
+                list.addAll(chunk);
+        }
+
+        return list;
+    }
+
+    /**
+     * toListRow
+     * 
+     * @param <T>       T
+     * @param resultSet ResultSet
+     * @param mapper    RowMapper
+     * @param list      add row to list
+     * @return List
+     * @throws Exception
+     */
+    private <T> List<T> toListRow(ResultSet resultSet, RowMapper<T> mapper, List<T> list) throws Exception {
+        var row = new RowReader(resultSet, typeHandlerRegistry);
+        while (resultSet.next()) {
+            list.add(mapper.map(row, list.size()));
+        }
+
+        return list;
+    }
+
+    /**
+     * query List by RowMapper
+     * 
+     * @param <T>    T
+     * @param sql    select sql; param: ? or ${name} or #{name}
+     * @param mapper row mapper
+     * @param param  select id, name from tb where id = ? param is Object[];
+     *               select id, name from tb where id = ${id} param is model or
+     *               Map&lt;String, Object&gt;
+     * @return List
+     * @throws Exception
+     */
+    @Override
+    public <T> List<T> queryList(String sql, RowMapper<T> mapper, Object... param) throws Exception {
+        if (mapper == null)
+            throw new Exception("mapper is null!");
+        List<T> list = new ArrayList<>();
+        for (var sqlparam = this.getSqlParam(sql, param); sqlparam != null; sqlparam = sqlparam.next) {
+            this.execute(sqlparam, resultSet -> this.toListRow(resultSet, mapper, list));
+        }
+
+        return list;
+    }
+
+    /**
+     * forEachRow
+     * 
+     * @param resultSet ResultSet
+     * @param callback  RowCallback
+     * @return row count
+     * @throws Exception
+     */
+    private int forEachRow(ResultSet resultSet, RowCallback callback) throws Exception {
+        var count = 0;
+        var row = new RowReader(resultSet, typeHandlerRegistry);
+        while (resultSet.next()) {
+            callback.process(row);
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * query and process each row, not create List
+     * 
+     * @param sql      select sql; param: ? or ${name} or #{name}
+     * @param callback row callback
+     * @param param    select id, name from tb where id = ? param is Object[];
+     *                 select id, name from tb where id = ${id} param is model or
+     *                 Map&lt;String, Object&gt;
+     * @return row count
+     * @throws Exception
+     */
+    @Override
+    public int query(String sql, RowCallback callback, Object... param) throws Exception {
+        if (callback == null)
+            throw new Exception("callback is null!");
+        var count = 0;
+        for (var sqlparam = this.getSqlParam(sql, param); sqlparam != null; sqlparam = sqlparam.next) {
+            count += this.execute(sqlparam, resultSet -> this.forEachRow(resultSet, callback));
+        }
+
+        return count;
+    }
+
+    /**
+     * forEachModel
+     * 
+     * @param <T>       Model
+     * @param resultSet ResultSet
+     * @param clazz     Model.class
+     * @param callback  ModelCallback
+     * @return row count
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    private <T> int forEachModel(ResultSet resultSet, Class<T> clazz, ModelCallback<T> callback) throws Exception {
+        var count = 0;
+        var modelInfo = this.getModelInfo(clazz);
+        if (modelInfo.isBaseType()) {
+            var handler = modelInfo.getHandler();
+            while (resultSet.next()) {
+                callback.process((T) handler.getResult(resultSet, 1));
+                count++;
+            }
+            return count;
+        }
+
+        var plan = modelInfo.getBindingPlan(resultSet.getMetaData(), this.generateMapper);
+        if (plan.isConstructor()) {
+            // immutable model can not reuse
+            while (resultSet.next()) {
+                callback.process((T) plan.newInstance(resultSet));
+                count++;
+            }
+            return count;
+        }
+
+        var m = objectFactory.create(clazz);
+        var values = plan.getValues(m);
+        while (resultSet.next()) {
+            if (count > 0)
+                plan.resetValues(m, values);
+            plan.setValue(m, resultSet);
+            callback.process(m);
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * query and process each row with one reused model, callback must not keep
+     * the model
+     * 
+     * @param <T>      model
+     * @param sql      select sql; param: ? or ${name} or #{name}
+     * @param clazz    T.class
+     * @param callback model callback
+     * @param param    select id, name from tb where id = ? param is Object[];
+     *                 select id, name from tb where id = ${id} param is model or
+     *                 Map&lt;String, Object&gt;
+     * @return row count
+     * @throws Exception
+     */
+    @Override
+    public <T> int queryCursor(String sql, Class<T> clazz, ModelCallback<T> callback, Object... param)
+            throws Exception {
+        if (callback == null)
+            throw new Exception("callback is null!");
+        this.checkModel(clazz);
+        var count = 0;
+        for (var sqlparam = this.getSqlParam(sql, param); sqlparam != null; sqlparam = sqlparam.next) {
+            count += this.execute(sqlparam, resultSet -> this.forEachModel(resultSet, clazz, callback));
+        }
+
+        return count;
+    }
+
+    /**
+     * getSelectSql
+     * 
+     * @param clazz model.class
+     * @param param where param
+     * @return SqlParamInfo
+     * @throws Exception
+     */
+    private SqlParamInfo getSelectSql(Class<?> clazz, Map<String, Object> param) throws Exception {
+        return this.getSelectSql(clazz, null, param);
+    }
+
+    /**
+     * getLockSql
+     * 
+     * @param clazz model.class
+     * @param param where param
+     * @param share true: share lock, false: update lock
+     * @return SqlParamInfo
+     * @throws Exception
+     */
+    private SqlParamInfo getLockSql(Class<?> clazz, Map<String, Object> param, boolean share) throws Exception {
+        var result = this.getSelectSql(clazz, param);
+        var key = getCrudKey(share ? 'R' : 'X', clazz.getName(), getKeys(param));
+        var template = this.getCrudSql(key);
+        if (template == null) {
+            var builder = new StringBuilder(result.sql.length() + 24);
+            builder.append(result.sql);
+            this.getDialect().appendLock(builder, share);
+            template = this.putCrudSql(key, builder.toString());
+        }
+        result.template = template;
+        result.sql = template.getSql();
+
+        return result;
+    }
+
+    /**
+     * getProjection, view field name in model
+     * 
+     * @param clazz model.class
+     * @param view  projection class
+     * @return field name
+     * @throws Exception
+     */
+    private String[] getProjection(Class<?> clazz, Class<?> view) throws Exception {
+        if (view == null)
+            throw new Exception("view is null!");
+        var fieldMap = this.getFieldMap(clazz);
+        var fields = this.getModelInfo(view).getFields();
+        var names = new ArrayList<String>(fields.size());
+        for (var f : fields) {
+            if (fieldMap.containsKey(f.getName()))
+                names.add(f.getName());
+        }
+        if (names.isEmpty())
+            throw new Exception(view.getName() + " not has " + clazz.getName() + " field!");
+
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * getSelectSql
+     * 
+     * @param clazz  model.class
+     * @param fields select field name, null is all field
+     * @param param  where param
+     * @return SqlParamInfo
+     * @throws Exception
+     */
+    private SqlParamInfo getSelectSql(Class<?> clazz, String[] fields, Map<String, Object> param)
+            throws Exception {
+        var fieldMap = this.getFieldMap(clazz);
+        var keys = getKeys(param);
+        var key = fields == null ? getCrudKey('S', clazz.getName(), keys)
+                : getCrudKey('P', clazz.getName(), fields, keys);
+        SqlParamInfo result = new SqlParamInfo();
+        result.template = this.getCrudSql(key);
+        if (result.template == null) {
+            if (fields != null) {
+                if (fields.length == 0)
+                    throw new Exception("fields is null!");
+                for (var name : fields) {
+                    if (!fieldMap.containsKey(name))
+                        throw new Exception("field " + name + " is error!");
+                }
+            }
+            var builder = new StringBuilder(128);
+            builder.append("SELECT ");
+            var first = true;
+            for (var name : fields == null ? fieldMap.keySet() : Arrays.asList(fields)) {
+                if (!first)
+                    builder.append(", ");
+                builder.append(this.getColumn(name));
+                first = false;
+            }
+            builder.append(" FROM ").append(this.getColumn(clazz.getSimpleName()));
+            if (keys.length > 0) {
+                builder.append(" WHERE 1=1");
+                for (var k : keys) {
+                    builder.append(" AND ").append(this.getColumn(k)).append(" = ?");
+                }
+            }
+            result.template = this.putCrudSql(key, builder.toString());
+        }
+        result.sql = result.template.getSql();
+        if (keys.length > 0) {
+            result.param = new Object[keys.length];
+            getValues(param, keys, result.param, 0);
+            result.handlers = getHandlers(fieldMap, keys);
+        }
+
+        return result;
+    }
+
+    /**
+     * get first model
+     * 
+     * @param <TModel> Model
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @return first Model
+     * @throws Exception
+     */
+    @Override
+    public <TModel> TModel get(Class<TModel> clazz, Map<String, Object> param) throws Exception {
+        this.checkModel(clazz);
+        var sqlparam = this.getSelectSql(clazz, param);
+
+        return this.execute(sqlparam, resultSet -> this.toModel(resultSet, clazz));
+    }
+
+    /**
+     * get List model
+     * 
+     * @param <TModel> Model
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @return List Model
+     * @throws Exception
+     */
+    @Override
+    public <TModel> List<TModel> getList(Class<TModel> clazz, Map<String, Object> param)
+            throws Exception {
+        this.checkModel(clazz);
+        var sqlparam = this.getSelectSql(clazz, param);
+
+        return this.execute(sqlparam, resultSet -> this.toListModel(resultSet, clazz));
+    }
+
+    /**
+     * get page List model
+     * 
+     * @param <TModel> Model
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @param offset   skip row count
+     * @param limit    max row count
+     * @return List Model
+     * @throws Exception
+     */
+    @Override
+    public <TModel> List<TModel> getList(Class<TModel> clazz, Map<String, Object> param, long offset, int limit)
+            throws Exception {
+        if (offset < 0)
+            throw new Exception("offset is error!");
+        if (limit <= 0)
+            throw new Exception("limit is error!");
+        this.checkModel(clazz);
+        var sqlparam = this.getSelectSql(clazz, param);
+        var builder = new StringBuilder(sqlparam.sql.length() + 48);
+        builder.append(sqlparam.sql);
+        this.getDialect().appendLimit(builder, offset, limit);
+        // page sql not cached, null type from model field handler
+        sqlparam.template = null;
+        sqlparam.sql = builder.toString();
+
+        return this.execute(sqlparam, resultSet -> this.toListModel(resultSet, clazz));
+    }
+
+    /**
+     * get first model and lock row in transaction
+     * 
+     * @param <TModel> Model
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @param share    true: share lock, false: update lock
+     * @return first Model
+     * @throws Exception
+     */
+    @Override
+    public <TModel> TModel getForUpdate(Class<TModel> clazz, Map<String, Object> param, boolean share)
+            throws Exception {
+        this.checkModel(clazz);
+        var sqlparam = this.getLockSql(clazz, param, share);
+
+        return this.execute(sqlparam, resultSet -> this.toModel(resultSet, clazz));
+    }
+
+    /**
+     * get first model, only select fields
+     * 
+     * @param <TModel> TModel
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @param fields   select field name
+     * @return first Model, not select field is default
+     * @throws Exception
+     */
+    @Override
+    public <TModel> TModel get(Class<TModel> clazz, Map<String, Object> param, String[] fields)
+            throws Exception {
+        if (fields == null)
+            throw new Exception("fields is null!");
+        this.checkModel(clazz);
+        var sqlparam = this.getSelectSql(clazz, fields, param);
+
+        return this.execute(sqlparam, resultSet -> this.toModel(resultSet, clazz));
+    }
+
+    /**
+     * get List model, only select fields
+     * 
+     * @param <TModel> Model
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @param fields   select field name
+     * @return List Model, not select field is default
+     * @throws Exception
+     */
+    @Override
+    public <TModel> List<TModel> getList(Class<TModel> clazz, Map<String, Object> param, String[] fields)
+            throws Exception {
+        if (fields == null)
+            throw new Exception("fields is null!");
+        this.checkModel(clazz);
+        var sqlparam = this.getSelectSql(clazz, fields, param);
+
+        return this.execute(sqlparam, resultSet -> this.toListModel(resultSet, clazz));
+    }
+
+    /**
+     * get first projection, select view field in model
+     * 
+     * @param <TModel> Model
+     * @param <TView>  projection
+     * @param clazz    TModel.class, table
+     * @param view     TView.class
+     * @param param    where param
+     * @return first TView
+     * @throws Exception
+     */
+    @Override
+    public <TModel, TView> TView get(Class<TModel> clazz, Class<TView> view, Map<String, Object> param)
+            throws Exception {
+        this.checkModel(clazz);
+        this.checkModel(view);
+        var sqlparam = this.getSelectSql(clazz, this.getProjection(clazz, view), param);
+
+        return this.execute(sqlparam, resultSet -> this.toModel(resultSet, view));
+    }
+
+    /**
+     * get List projection, select view field in model
+     * 
+     * @param <TModel> Model
+     * @param <TView>  projection
+     * @param clazz    TModel.class, table
+     * @param view     TView.class
+     * @param param    where param
+     * @return List TView
+     * @throws Exception
+     */
+    @Override
+    public <TModel, TView> List<TView> getList(Class<TModel> clazz, Class<TView> view,
+            Map<String, Object> param) throws Exception {
+        this.checkModel(clazz);
+        this.checkModel(view);
+        var sqlparam = this.getSelectSql(clazz, this.getProjection(clazz, view), param);
+
+        return this.execute(sqlparam, resultSet -> this.toListModel(resultSet, view));
+    }
+
+    /**
+     * getInsertSql
+     * 
+     * @param table    table name
+     * @param param    insert param
+     * @param fieldMap model field, null if not model
+     * @return SqlParamInfo
+     * @throws Exception
+     */
+    private SqlParamInfo getInsertSql(String table, Map<String, Object> param, Map<String, FieldInfo> fieldMap)
+            throws Exception {
+        var keys = getKeys(param);
+        SqlParamInfo m = new SqlParamInfo();
+        m.template = this.getInsertSql(table, keys);
+        m.sql = m.template.getSql();
+        m.param = new Object[keys.length];
+        getValues(param, keys, m.param, 0);
+        m.handlers = getHandlers(fieldMap, keys);
+
+        return m;
+    }
+
+    /**
+     * getInsertSql
+     * 
+     * @param table table name
+     * @param keys  column name
+     * @return SqlTemplate
+     * @throws Exception
+     */
+    private SqlTemplate getInsertSql(String table, String[] keys) throws Exception {
+        if (table == null || table.isEmpty())
+            throw new Exception("table is null!");
+        var key = getCrudKey('I', table, keys);
+        var template = this.getCrudSql(key);
+        if (template == null) {
+            var builder = new StringBuilder(128);
+            builder.append("INSERT INTO ").append(this.getColumn(table)).append("(");
+            for (var i = 0; i < keys.length; i++) {
+                if (i > 0)
+                    builder.append(", ");
+                builder.append(this.getColumn(keys[i]));
+            }
+            builder.append(") VALUES(");
+            for (var i = 0; i < keys.length; i++) {
+                builder.append(i > 0 ? ", ?" : "?");
+            }
+            builder.append(");");
+            template = this.putCrudSql(key, builder.toString());
+        }
+
+        return template;
+    }
+
+    /**
+     * add row
+     * 
+     * @param table table name
+     * @param param insert param
+     * @return int
+     * @throws Exception
+     */
+    @Override
+    public int add(String table, Map<String, Object> param) throws Exception {
+        if (param == null || param.size() == 0)
+            throw new Exception("param is null!");
+        var sqlparam = this.getInsertSql(table, param, null);
+
+        return this.executeUpdate(sqlparam);
+    }
+
+    /**
+     * add model
+     * 
+     * @param <TModel> Model
+     * @param m        model
+     * @param ignore   ignore model property name
+     * @return int
+     * @throws Exception
+     */
+    @Override
+    public <TModel> int add(TModel m, String[] ignore) throws Exception {
+        if (m == null)
+            throw new Exception("m is null!");
+        var clazz = m.getClass();
+        var fieldMap = this.getFieldMap(clazz);
+        Map<String, Object> param = new LinkedHashMap<>(fieldMap.size());
+        for (Map.Entry<String, FieldInfo> kv : fieldMap.entrySet()) {
+            param.put(kv.getKey(), kv.getValue().get(m));
+        }
+        if (ignore != null && ignore.length > 0) {
+            for (var i = 0; i < ignore.length; i++) {
+                param.remove(ignore[i]);
+            }
+        }
+
+        if (param.size() == 0)
+            throw new Exception("param is null!");
+        var sqlparam = this.getInsertSql(clazz.getSimpleName(), param, fieldMap);
+        var keyWriter = getKeyWriter(this.getModelInfo(clazz), List.of(m));
+        if (keyWriter == null)
+            return this.executeUpdate(sqlparam);
+
+        return this.<Integer>execute(sqlparam, null, keys -> {
+            keyWriter.write(keys, 0, 1);
+            return null;
+        });
+    }
+
+    /**
+     * batch insert rows
+     */
+    private static class BatchInsert {
+        String table;
+        String[] keys;
+        TypeHandler<?>[] handlers;
+        int rowCount;
+        BatchRow row;
+        KeyWriter keyWriter;
+        String[] conflictKeys;
+        String[] updates;
+    }
+
+    /**
+     * getKeyWriter, write generated keys to model id field in order
+     * 
+     * @param modelInfo ModelInfo
+     * @param list      model list
+     * @return KeyWriter, null if model not has empty id field
+     * @throws Exception
+     */
+    private static KeyWriter getKeyWriter(ModelInfo modelInfo, List<?> list) throws Exception {
+        var id = modelInfo.getIdField();
+        if (id == null || id.getHandler() == null || modelInfo.getCreator() != null)
+            return null;
+        var empty = false;
+        for (var m : list) {
+            if (isEmptyId(id, m)) {
+                empty = true;
+                break;
+            }
+        }
+        if (!empty)
+            return null;
+        var handler = id.getHandler();
+
+        return (keys, start, end) -> {
+            // row with id value not generate key
+            var i = start;
+            while (keys.next()) {
+                while (i < end && !isEmptyId(id, list.get(i))) {
+                    i++;
+                }
+                if (i >= end)
+                    break;
+                id.set(list.get(i++), handler.getResult(keys, 1));
+            }
+        };
+    }
+
+    /**
+     * isEmptyId, null or primitive 0
+     * 
+     * @param id id field
+     * @param m  model
+     * @return boolean
+     * @throws Exception
+     */
+    private static boolean isEmptyId(FieldInfo id, Object m) throws Exception {
+        var value = id.get(m);
+        if (value == null)
+            return true;
+        return id.getType().isPrimitive() && value instanceof Number n && n.longValue() == 0;
+    }
+
+    /**
+     * getBatchKeys, check all row has same keys before execute, not change part
+     * of list
+     * 
+     * @param list param list
+     * @return sorted keys
+     * @throws Exception
+     */
+    private static String[] getBatchKeys(List<Map<String, Object>> list) throws Exception {
+        if (list == null || list.size() == 0)
+            throw new Exception("list is null!");
+        var first = list.get(0);
+        if (first == null || first.size() == 0)
+            throw new Exception("param is null!");
+        var keys = getKeys(first);
+        for (var index = 1; index < list.size(); index++) {
+            var param = list.get(index);
+            if (param == null || param.size() != keys.length || !param.keySet().containsAll(first.keySet()))
+                throw new Exception("list[" + index + "] keys is error!");
+        }
+        return keys;
+    }
+
+    /**
+     * getBatchInsert
+     * 
+     * @param table table name
+     * @param list  insert param list, all row has same keys
+     * @return BatchInsert
+     * @throws Exception
+     */
+    private static BatchInsert getBatchInsert(String table, List<Map<String, Object>> list) throws Exception {
+        var keys = getBatchKeys(list);
+        var result = new BatchInsert();
+        result.table = table;
+        result.keys = keys;
+        result.rowCount = list.size();
+        result.row = (index, values, offset) -> getValues(list.get(index), keys, values, offset);
+
+        return result;
     }
 
     /**
-     * toListMap
+     * getBatchInsert
      * 
-     * @param resultSet ResultSet
-     * @return List Map
+     * @param <TModel> Model
+     * @param list     model list, same class
+     * @param ignore   ignore model property name
+     * @return BatchInsert
      * @throws Exception
      */
-    private List<Map<String, Object>> toListMap(ResultSet resultSet) throws Exception {
-        List<Map<String, Object>> list = new ArrayList<Map<String, Object>>();
-        var metaData = resultSet.getMetaData();
-        var count = metaData.getColumnCount();
-        while (resultSet.next()) {
-            Map<String, Object> map = new HashMap<>(count);
-            for (var i = 0; i < count; i++) {
-                var name = metaData.getColumnLabel(i + 1);
-                var value = resultSet.getObject(i + 1);
-                map.put(name, value);
-            }
-            list.add(map);
+    private <TModel> BatchInsert getBatchInsert(List<TModel> list, String[] ignore) throws Exception {
+        if (list == null || list.size() == 0)
+            throw new Exception("list is null!");
+        var first = list.get(0);
+        if (first == null)
+            throw new Exception("list[0] is null!");
+        var clazz = first.getClass();
+        // check before execute, not insert part of list
+        for (var index = 1; index < list.size(); index++) {
+            var m = list.get(index);
+            if (m == null || m.getClass() != clazz)
+                throw new Exception("list[" + index + "] is error!");
         }
+        var fieldMap = this.getFieldMap(clazz);
+        var names = new ArrayList<String>(fieldMap.keySet());
+        if (ignore != null && ignore.length > 0) {
+            names.removeAll(Arrays.asList(ignore));
+        }
+        if (names.size() == 0)
+            throw new Exception("param is null!");
+        var keys = names.toArray(new String[0]);
+        Arrays.sort(keys);
+        var fields = new FieldInfo[keys.length];
+        for (var i = 0; i < keys.length; i++) {
+            fields[i] = fieldMap.get(keys[i]);
+        }
+        var result = new BatchInsert();
+        result.table = clazz.getSimpleName();
+        result.keys = keys;
+        result.handlers = getHandlers(fieldMap, keys);
+        result.rowCount = list.size();
+        result.keyWriter = getKeyWriter(this.getModelInfo(clazz), list);
+        result.row = (index, values, offset) -> {
+            var m = list.get(index);
+            for (var i = 0; i < fields.length; i++) {
+                values[offset + i] = fields[i].get(m);
+            }
+        };
 
-        return list;
+        return result;
     }
 
     /**
-     * query List Map&lt;String, Object&gt;
+     * add row list, JDBC batch by batchSize
      * 
-     * @param sql   select sql; param: ? or ${name} or #{name}
-     * @param param select id, name from tb where id = ? param is Object[];
-     *              select id, name from tb where id = ${id} param is model or
-     *              Map&lt;String, Object&gt;
-     * @return List Map String, Object
+     * @param table table name
+     * @param list  insert param list, all row has same keys
+     * @return update count per row
      * @throws Exception
      */
     @Override
-    public List<Map<String, Object>> queryListMap(String sql, Object... param) throws Exception {
-        List<Map<String, Object>> list = null;
-        this.open();
-        if (param == null || param.length == 0) {
-            try (var statement = this.connection.createStatement()) {
-                try (var resultSet = statement.executeQuery(sql)) {
-                    list = this.toListMap(resultSet);
-                }
-            }
-        } else {
-            var sqlparam = this.getParamInfo(sql, param);
-            try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-                for (var i = 0; i < sqlparam.param.length; i++) {
-                    var o = sqlparam.param[i];
-                    if (o != null) {
-                        var t = o.getClass();
-                        var handler = typeHandlerRegistry.getTypeHandler(t);
-                        handler.setParameter(statement, i + 1, o);
-                    } else {
-                        statement.setNull(i + 1, Types.VARCHAR);
-                    }
-                }
-                try (var resultSet = statement.executeQuery()) {
-                    list = this.toListMap(resultSet);
-                }
-            }
-        }
-
-        return list;
+    public int[] addBatch(String table, List<Map<String, Object>> list) throws Exception {
+        return this.executeBatch(getBatchInsert(table, list));
     }
 
     /**
-     * getSelectSql
+     * add model list, JDBC batch by batchSize
      * 
-     * @param clazz model.class
-     * @param param where param
-     * @return SqlParamInfo
+     * @param <TModel> Model
+     * @param list     model list, same class
+     * @param ignore   ignore model property name
+     * @return update count per row
      * @throws Exception
      */
-    private SqlParamInfo getSelectSql(Class<?> clazz, Map<String, Object> param) throws Exception {
-        var fieldMap = this.getFieldMap(clazz);
-        SqlParamInfo result = new SqlParamInfo();
-        result.sql = "SELECT ";
-        fieldMap.forEach((k, v) -> {
-            result.sql = result.sql + this.encodeColumn(k) + ", ";
-        });
-        result.sql = result.sql.substring(0, result.sql.length() - 2);
-        result.sql = result.sql + " FROM " + this.encodeColumn(clazz.getSimpleName());
-        if (param != null && param.size() > 0) {
-            List<Object> arr = new ArrayList<>(param.size());
-            result.sql = result.sql + " WHERE 1=1";
-            param.forEach((k, v) -> {
-                result.sql = result.sql + " AND " + this.encodeColumn(k) + " = ?";
-                arr.add(v);
-            });
-            result.param = arr.toArray();
-        }
+    @Override
+    public <TModel> int[] addBatch(List<TModel> list, String[] ignore) throws Exception {
+        return this.executeBatch(this.getBatchInsert(list, ignore));
+    }
 
-        return result;
+    /**
+     * add row list, multi-row INSERT INTO tb(a, b) VALUES (?, ?), (?, ?)
+     * 
+     * @param table table name
+     * @param list  insert param list, all row has same keys
+     * @return update count
+     * @throws Exception
+     */
+    @Override
+    public int addBulk(String table, List<Map<String, Object>> list) throws Exception {
+        return this.executeBulk(getBatchInsert(table, list));
     }
 
     /**
-     * get first model
+     * add model list, multi-row INSERT INTO tb(a, b) VALUES (?, ?), (?, ?)
      * 
      * @param <TModel> Model
-     * @param clazz    TModel.class
-     * @param param    where param
-     * @return first Model
+     * @param list     model list, same class
+     * @param ignore   ignore model property name
+     * @return update count
      * @throws Exception
      */
     @Override
-    public <TModel> TModel get(Class<TModel> clazz, Map<String, Object> param) throws Exception {
-        this.checkModel(clazz);
-        this.open();
-        var sqlparam = this.getSelectSql(clazz, param);
-        if (sqlparam.param == null || sqlparam.param.length == 0) {
-            try (var statement = this.connection.createStatement()) {
-                try (var resultSet = statement.executeQuery(sqlparam.sql)) {
-                    var m = this.toModel(resultSet, clazz);
-                    return m;
-                }
-            }
-        } else {
-            try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-                for (var i = 0; i < sqlparam.param.length; i++) {
-                    var o = sqlparam.param[i];
-                    if (o != null) {
-                        var t = o.getClass();
-                        var handler = typeHandlerRegistry.getTypeHandler(t);
-                        handler.setParameter(statement, i + 1, o);
-                    } else {
-                        statement.setNull(i + 1, Types.VARCHAR);
-                    }
-                }
-                try (var resultSet = statement.executeQuery()) {
-                    var m = this.toModel(resultSet, clazz);
-                    return m;
-                }
-            }
-        }
+    public <TModel> int addBulk(List<TModel> list, String[] ignore) throws Exception {
+        return this.executeBulk(this.getBatchInsert(list, ignore));
     }
 
     /**
-     * get List model
+     * insert or update model by conflict keys in one statement
      * 
-     * @param <TModel> Model
-     * @param clazz    TModel.class
-     * @param param    where param
-     * @return List Model
+     * @param <TModel>     Model
+     * @param m            model
+     * @param conflictKeys unique key property name
+     * @param updates      update property name when key exists, null is all not
+     *                     key property
+     * @return update count
      * @throws Exception
      */
     @Override
-    public <TModel> List<TModel> getList(Class<TModel> clazz, Map<String, Object> param)
-            throws Exception {
-        List<TModel> list = null;
-        this.checkModel(clazz);
-        this.open();
-        var sqlparam = this.getSelectSql(clazz, param);
-        if (sqlparam.param == null || sqlparam.param.length == 0) {
-            try (var statement = this.connection.createStatement()) {
-                try (var resultSet = statement.executeQuery(sqlparam.sql)) {
-                    list = this.toListModel(resultSet, clazz);
-                }
+    public <TModel> int upsert(TModel m, String[] conflictKeys, String[] updates) throws Exception {
+        if (m == null)
+            throw new Exception("m is null!");
+
+        return this.upsertBatch(List.of(m), conflictKeys, updates);
+    }
+
+    /**
+     * insert or update model list by conflict keys, multi-row statement or JDBC
+     * batch
+     * 
+     * @param <TModel>     Model
+     * @param list         model list, same class
+     * @param conflictKeys unique key property name
+     * @param updates      update property name when key exists, null is all not
+     *                     key property
+     * @return update count
+     * @throws Exception
+     */
+    @Override
+    public <TModel> int upsertBatch(List<TModel> list, String[] conflictKeys, String[] updates) throws Exception {
+        if (conflictKeys == null || conflictKeys.length == 0)
+            throw new Exception("conflictKeys is null!");
+        if (!this.getDialect().supportsUpsert())
+            throw new Exception(this.getDialect().getName() + " upsert is not support!");
+        var insert = this.getBatchInsert(list, null);
+        for (var name : conflictKeys) {
+            if (Arrays.binarySearch(insert.keys, name) < 0)
+                throw new Exception("conflictKeys " + name + " is error!");
+        }
+        if (updates != null) {
+            for (var name : updates) {
+                if (Arrays.binarySearch(insert.keys, name) < 0)
+                    throw new Exception("updates " + name + " is error!");
             }
-        } else {
-            try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-                for (var i = 0; i < sqlparam.param.length; i++) {
-                    var o = sqlparam.param[i];
-                    if (o != null) {
-                        var t = o.getClass();
-                        var handler = typeHandlerRegistry.getTypeHandler(t);
-                        handler.setParameter(statement, i + 1, o);
-                    } else {
-                        statement.setNull(i + 1, Types.VARCHAR);
-                    }
-                }
-                try (var resultSet = statement.executeQuery()) {
-                    list = toListModel(resultSet, clazz);
-                }
+        }
+        if (updates == null) {
+            // not update key and id
+            var id = this.getModelInfo(list.get(0).getClass()).getIdField();
+            var names = new ArrayList<String>(insert.keys.length);
+            for (var name : insert.keys) {
+                if (!Arrays.asList(conflictKeys).contains(name) && (id == null || !id.getName().equals(name)))
+                    names.add(name);
             }
+            updates = names.toArray(new String[0]);
         }
+        // key of updated row is not generated
+        insert.keyWriter = null;
+        insert.conflictKeys = conflictKeys;
+        insert.updates = updates;
 
-        return list;
+        return this.executeBulk(insert);
     }
 
     /**
-     * getInsertSql
+     * executeBatch insert
      * 
-     * @param table table name
-     * @param param insert param
-     * @return SqlParamInfo
+     * @param insert BatchInsert
+     * @return update count per row
      * @throws Exception
      */
-    private SqlParamInfo getInsertSql(String table, Map<String, Object> param) throws Exception {
-        if (table == null || table.isEmpty())
-            throw new Exception("table is null!");
-        SqlParamInfo m = new SqlParamInfo();
-        m.sql = "INSERT INTO " + this.encodeColumn(table) + "(";
-        List<Object> plist = new ArrayList<>(param.size());
-        String vsql = "VALUES(";
-        for (Map.Entry<String, Object> kv : param.entrySet()) {
-            m.sql = m.sql + this.encodeColumn(kv.getKey()) + ", ";
-            plist.add(kv.getValue());
-            vsql = vsql + "?, ";
-        }
-        m.sql = m.sql.substring(0, m.sql.length() - 2) + ") " + vsql.substring(0, vsql.length() - 2) + ");";
-        m.param = plist.toArray();
-
-        return m;
+    private int[] executeBatch(BatchInsert insert) throws Exception {
+        SqlParamInfo sqlparam = new SqlParamInfo();
+        if (insert.conflictKeys == null)
+            sqlparam.template = this.getInsertSql(insert.table, insert.keys);
+        else
+            sqlparam.template = this.getBulkInsertSql(this.getDialect(), insert, 1);
+        sqlparam.sql = sqlparam.template.getSql();
+        sqlparam.param = new Object[insert.keys.length];
+        sqlparam.handlers = insert.handlers;
+
+        return this.executeBatch(sqlparam, insert.rowCount, insert.row, insert.keyWriter);
     }
 
     /**
-     * add row
+     * executeBulk, row count per statement is power of 2, not more than
+     * batchSize, parameter limit and maxPacketSize
      * 
-     * @param table table name
-     * @param param insert param
-     * @return int
+     * @param insert BatchInsert
+     * @return update count
      * @throws Exception
      */
-    @Override
-    public int add(String table, Map<String, Object> param) throws Exception {
-        if (param == null || param.size() == 0)
-            throw new Exception("param is null!");
-        var sqlparam = this.getInsertSql(table, param);
-        int result = 0;
-        this.open();
-        try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-            for (var i = 0; i < sqlparam.param.length; i++) {
-                var o = sqlparam.param[i];
-                if (o != null) {
-                    var t = o.getClass();
-                    var handler = typeHandlerRegistry.getTypeHandler(t);
-                    handler.setParameter(statement, i + 1, o);
-                } else {
-                    statement.setNull(i + 1, Types.VARCHAR);
-                }
+    private int executeBulk(BatchInsert insert) throws Exception {
+        var dialect = this.getDialect();
+        if (!dialect.supportsMultiRowInsert()) {
+            var result = 0;
+            for (var count : this.executeBatch(insert)) {
+                result += Math.max(count, 0);
+            }
+            return result;
+        }
+        var columnCount = insert.keys.length;
+        var maxRows = Math.max(1, Math.min(this.batchSize, dialect.getMaxParameterCount() / columnCount));
+        var rowBuffer = new Object[columnCount];
+        var result = 0;
+        var index = 0;
+        while (index < insert.rowCount) {
+            // estimate sql packet size by row values
+            long size = 64 + insert.table.length() + columnCount * 16L;
+            var count = 0;
+            while (count < maxRows && index + count < insert.rowCount) {
+                insert.row.setValues(index + count, rowBuffer, 0);
+                var rowSize = getRowSize(rowBuffer);
+                if (count > 0 && size + rowSize > this.maxPacketSize)
+                    break;
+                size += rowSize;
+                count++;
+            }
+            var rows = Integer.highestOneBit(count);
+            SqlParamInfo sqlparam = new SqlParamInfo();
+            sqlparam.template = this.getBulkInsertSql(dialect, insert, rows);
+            sqlparam.sql = sqlparam.template.getSql();
+            sqlparam.param = new Object[rows * columnCount];
+            if (insert.handlers != null)
+                sqlparam.handlers = new TypeHandler<?>[sqlparam.param.length];
+            for (var i = 0; i < rows; i++) {
+                insert.row.setValues(index + i, sqlparam.param, i * columnCount);
+                if (insert.handlers != null)
+                    System.arraycopy(insert.handlers, 0, sqlparam.handlers, i * columnCount, columnCount);
             }
-            result = statement.executeUpdate();
+            if (insert.keyWriter == null) {
+                result += this.executeUpdate(sqlparam);
+            } else {
+                final var start = index;
+                result += this.<Integer>execute(sqlparam, null, keys -> {
+                    insert.keyWriter.write(keys, start, start + rows);
+                    return null;
+                });
+            }
+            index += rows;
         }
 
         return result;
     }
 
     /**
-     * add model
+     * getBulkInsertSql, multi-row insert or upsert, cached per row count
      * 
-     * @param <TModel> Model
-     * @param m        model
-     * @param ignore   ignore model property name
-     * @return int
+     * @param dialect Dialect
+     * @param insert  BatchInsert
+     * @param rows    row count
+     * @return SqlTemplate
      * @throws Exception
      */
-    @Override
-    public <TModel> int add(TModel m, String[] ignore) throws Exception {
-        if (m == null)
-            throw new Exception("m is null!");
-        var clazz = m.getClass();
-        var fieldMap = this.getFieldMap(clazz);
-        if (ignore != null && ignore.length > 0) {
-            for (var i = 0; i < ignore.length; i++) {
-                fieldMap.remove(ignore[i]);
-            }
-        }
-        Map<String, Object> param = new LinkedHashMap<>(fieldMap.size());
-        for (Map.Entry<String, Field> kv : fieldMap.entrySet()) {
-            param.put(kv.getKey(), kv.getValue().get(m));
+    private SqlTemplate getBulkInsertSql(Dialect dialect, BatchInsert insert, int rows) throws Exception {
+        String key;
+        if (insert.conflictKeys == null)
+            key = getCrudKey('M', insert.table, insert.keys) + '\2' + rows;
+        else
+            key = getCrudKey('W', insert.table, insert.keys, insert.conflictKeys, insert.updates) + '\2' + rows;
+        var template = this.getCrudSql(key);
+        if (template == null) {
+            // quote by encodeColumn, same as other crud sql
+            var table = this.getColumn(insert.table);
+            var columns = this.getColumns(insert.keys);
+            var builder = new StringBuilder(64 + insert.keys.length * (16 + rows * 3));
+            if (insert.conflictKeys == null)
+                dialect.appendInsert(builder, table, columns, rows);
+            else
+                dialect.appendUpsert(builder, table, columns, this.getColumns(insert.conflictKeys),
+                        this.getColumns(insert.updates), rows);
+            template = this.putCrudSql(key, builder.toString());
         }
 
-        return this.add(clazz.getSimpleName(), param);
+        return template;
+    }
+
+    /**
+     * getRowSize, estimate row sql text byte size
+     * 
+     * @param values row values
+     * @return byte size
+     */
+    private static long getRowSize(Object[] values) {
+        long size = 4;
+        for (var o : values) {
+            if (o == null)
+                size += 6;
+            else if (o instanceof CharSequence s)
+                size += s.length() * 3L + 4;
+            else if (o instanceof byte[] b)
+                size += b.length * 2L + 5;
+            else
+                size += 34;
+        }
+        return size;
     }
 
     /**
@@ -957,30 +2414,56 @@ public abstract class Database implements IDatabase {
      * @param table      table name
      * @param setParam   set param
      * @param whereParam where param
+     * @param fieldMap   model field, null if not model
      * @return SqlParamInfo
      * @throws Exception
      */
-    private SqlParamInfo getUpdateSql(String table, Map<String, Object> setParam, Map<String, Object> whereParam)
-            throws Exception {
+    private SqlParamInfo getUpdateSql(String table, Map<String, Object> setParam, Map<String, Object> whereParam,
+            Map<String, FieldInfo> fieldMap) throws Exception {
         if (table == null || table.isEmpty())
             throw new Exception("table is null!");
+        var setKeys = getKeys(setParam);
+        var whereKeys = getKeys(whereParam);
         SqlParamInfo m = new SqlParamInfo();
-        m.sql = "UPDATE " + this.encodeColumn(table) + " SET ";
-        List<Object> plist = new ArrayList<>(setParam.size() + (whereParam != null ? whereParam.size() : 0));
-        for (Map.Entry<String, Object> kv : setParam.entrySet()) {
-            m.sql = m.sql + this.encodeColumn(kv.getKey()) + " = ?, ";
-            plist.add(kv.getValue());
-        }
-        m.sql = m.sql.substring(0, m.sql.length() - 2) + " WHERE 1=1";
-        if (whereParam != null && whereParam.size() > 0) {
-            for (Map.Entry<String, Object> kv : whereParam.entrySet()) {
-                m.sql = m.sql + " AND " + this.encodeColumn(kv.getKey()) + " = ?";
-                plist.add(kv.getValue());
+        m.template = this.getUpdateSql(table, setKeys, whereKeys);
+        m.sql = m.template.getSql();
+        m.param = new Object[setKeys.length + whereKeys.length];
+        var offset = getValues(setParam, setKeys, m.param, 0);
+        if (whereKeys.length > 0)
+            getValues(whereParam, whereKeys, m.param, offset);
+        m.handlers = getHandlers(fieldMap, setKeys, whereKeys);
+
+        return m;
+    }
+
+    /**
+     * getUpdateSql
+     * 
+     * @param table     table name
+     * @param setKeys   set column name
+     * @param whereKeys where column name
+     * @return SqlTemplate
+     * @throws Exception
+     */
+    private SqlTemplate getUpdateSql(String table, String[] setKeys, String[] whereKeys) throws Exception {
+        var key = getCrudKey('U', table, setKeys, whereKeys);
+        var template = this.getCrudSql(key);
+        if (template == null) {
+            var builder = new StringBuilder(128);
+            builder.append("UPDATE ").append(this.getColumn(table)).append(" SET ");
+            for (var i = 0; i < setKeys.length; i++) {
+                if (i > 0)
+                    builder.append(", ");
+                builder.append(this.getColumn(setKeys[i])).append(" = ?");
+            }
+            builder.append(" WHERE 1=1");
+            for (var k : whereKeys) {
+                builder.append(" AND ").append(this.getColumn(k)).append(" = ?");
             }
+            template = this.putCrudSql(key, builder.toString());
         }
-        m.param = plist.toArray();
 
-        return m;
+        return template;
     }
 
     /**
@@ -996,24 +2479,9 @@ public abstract class Database implements IDatabase {
     public int update(String table, Map<String, Object> setParam, Map<String, Object> whereParam) throws Exception {
         if (setParam == null || setParam.size() == 0)
             throw new Exception("param is null!");
-        var sqlparam = this.getUpdateSql(table, setParam, whereParam);
-        int result = 0;
-        this.open();
-        try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-            for (var i = 0; i < sqlparam.param.length; i++) {
-                var o = sqlparam.param[i];
-                if (o != null) {
-                    var t = o.getClass();
-                    var handler = typeHandlerRegistry.getTypeHandler(t);
-                    handler.setParameter(statement, i + 1, o);
-                } else {
-                    statement.setNull(i + 1, Types.VARCHAR);
-                }
-            }
-            result = statement.executeUpdate();
-        }
+        var sqlparam = this.getUpdateSql(table, setParam, whereParam, null);
 
-        return result;
+        return this.executeUpdate(sqlparam);
     }
 
     /**
@@ -1031,9 +2499,186 @@ public abstract class Database implements IDatabase {
             Map<String, Object> whereParam) throws Exception {
         if (clazz == null)
             throw new Exception("T class is null!");
-        var table = clazz.getSimpleName();
+        if (setParam == null || setParam.size() == 0)
+            throw new Exception("param is null!");
+        var sqlparam = this.getUpdateSql(clazz.getSimpleName(), setParam, whereParam, this.getFieldMap(clazz));
+
+        return this.executeUpdate(sqlparam);
+    }
+
+    /**
+     * update row list by key column, set column value per row
+     * 
+     * @param table     table name
+     * @param keyColumn key column name, where key = ?
+     * @param list      row list, all row has same keys, include key column, key
+     *                  value not repeat
+     * @return update count
+     * @throws Exception
+     */
+    @Override
+    public int updateBatch(String table, String keyColumn, List<Map<String, Object>> list) throws Exception {
+        return this.updateBatch(table, keyColumn, list, null);
+    }
+
+    /**
+     * update row list by key column, set column value per row
+     * 
+     * @param <TModel>  Model
+     * @param clazz     Model.class
+     * @param keyColumn key property name, where key = ?
+     * @param list      row list, all row has same keys, include key property,
+     *                  key value not repeat
+     * @return update count
+     * @throws Exception
+     */
+    @Override
+    public <TModel> int updateBatch(Class<TModel> clazz, String keyColumn, List<Map<String, Object>> list)
+            throws Exception {
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        var fieldMap = this.getFieldMap(clazz);
+
+        return this.updateBatch(clazz.getSimpleName(), keyColumn, list, fieldMap);
+    }
+
+    /**
+     * updateBatch, UPDATE ... CASE statement per chunk if row count not less
+     * than dialect getCaseUpdateRows, else JDBC batch
+     * 
+     * @param table     table name
+     * @param keyColumn key column name
+     * @param list      row list
+     * @param fieldMap  model field, null if not model
+     * @return update count
+     * @throws Exception
+     */
+    private int updateBatch(String table, String keyColumn, List<Map<String, Object>> list,
+            Map<String, FieldInfo> fieldMap) throws Exception {
+        if (table == null || table.isEmpty())
+            throw new Exception("table is null!");
+        if (keyColumn == null || keyColumn.isEmpty())
+            throw new Exception("keyColumn is null!");
+        var keys = getBatchKeys(list);
+        if (Arrays.binarySearch(keys, keyColumn) < 0)
+            throw new Exception("keyColumn " + keyColumn + " is error!");
+        if (fieldMap != null) {
+            for (var k : keys) {
+                if (!fieldMap.containsKey(k))
+                    throw new Exception("list key " + k + " is error!");
+            }
+        }
+        var setKeys = new String[keys.length - 1];
+        var n = 0;
+        for (var k : keys) {
+            if (!k.equals(keyColumn))
+                setKeys[n++] = k;
+        }
+        if (setKeys.length == 0)
+            throw new Exception("setParam is null!");
+        // CASE keep first row of same key, batch keep last, not allowed
+        var keyValues = new HashSet<Object>(list.size() * 4 / 3 + 1);
+        for (var i = 0; i < list.size(); i++) {
+            if (!keyValues.add(list.get(i).get(keyColumn)))
+                throw new Exception("list[" + i + "] " + keyColumn + " is repeat!");
+        }
+        var whereKeys = new String[] { keyColumn };
+        var dialect = this.getDialect();
+        var maxRows = Math.max(1,
+                Math.min(this.batchSize, dialect.getMaxParameterCount() / (setKeys.length * 2 + 1)));
+        var caseRows = dialect.getCaseUpdateRows();
+        var result = 0;
+        var index = 0;
+        while (index < list.size()) {
+            var remain = list.size() - index;
+            if (remain < caseRows || maxRows < caseRows) {
+                // few rows, JDBC batch of same UPDATE
+                final var start = index;
+                SqlParamInfo sqlparam = new SqlParamInfo();
+                sqlparam.template = this.getUpdateSql(table, setKeys, whereKeys);
+                sqlparam.sql = sqlparam.template.getSql();
+                sqlparam.param = new Object[keys.length];
+                sqlparam.handlers = getHandlers(fieldMap, setKeys, whereKeys);
+                var counts = this.executeBatch(sqlparam, remain, (i, values, offset) -> {
+                    var row = list.get(start + i);
+                    values[getValues(row, setKeys, values, offset)] = row.get(keyColumn);
+                }, null);
+                for (var count : counts) {
+                    result += Math.max(count, 0);
+                }
+                break;
+            }
+            var rows = Integer.highestOneBit(Math.min(remain, maxRows));
+            SqlParamInfo sqlparam = new SqlParamInfo();
+            sqlparam.template = this.getCaseUpdateSql(table, setKeys, keyColumn, rows);
+            sqlparam.sql = sqlparam.template.getSql();
+            sqlparam.param = new Object[rows * (setKeys.length * 2 + 1)];
+            var handlers = getHandlers(fieldMap, setKeys, whereKeys);
+            if (handlers != null)
+                sqlparam.handlers = new TypeHandler<?>[sqlparam.param.length];
+            var p = 0;
+            for (var s = 0; s < setKeys.length; s++) {
+                for (var i = index; i < index + rows; i++) {
+                    var row = list.get(i);
+                    if (handlers != null) {
+                        sqlparam.handlers[p] = handlers[setKeys.length];
+                        sqlparam.handlers[p + 1] = handlers[s];
+                    }
+                    sqlparam.param[p++] = row.get(keyColumn);
+                    sqlparam.param[p++] = row.get(setKeys[s]);
+                }
+            }
+            for (var i = index; i < index + rows; i++) {
+                if (handlers != null)
+                    sqlparam.handlers[p] = handlers[setKeys.length];
+                sqlparam.param[p++] = list.get(i).get(keyColumn);
+            }
+            result += this.executeUpdate(sqlparam);
+            index += rows;
+        }
+
+        return result;
+    }
+
+    /**
+     * getCaseUpdateSql, cached per row count
+     * 
+     * <pre>
+     * UPDATE tb SET a = CASE id WHEN ? THEN ? WHEN ? THEN ? END WHERE id IN (?, ?)
+     * </pre>
+     * 
+     * @param table     table name
+     * @param setKeys   set column name
+     * @param keyColumn key column name
+     * @param rows      row count
+     * @return SqlTemplate
+     * @throws Exception
+     */
+    private SqlTemplate getCaseUpdateSql(String table, String[] setKeys, String keyColumn, int rows) throws Exception {
+        var key = getCrudKey('C', table, setKeys, new String[] { keyColumn }) + '\2' + rows;
+        var template = this.getCrudSql(key);
+        if (template == null) {
+            var column = this.getColumn(keyColumn);
+            var builder = new StringBuilder(64 + setKeys.length * (32 + rows * 16) + rows * 3);
+            builder.append("UPDATE ").append(this.getColumn(table)).append(" SET ");
+            for (var s = 0; s < setKeys.length; s++) {
+                if (s > 0)
+                    builder.append(", ");
+                builder.append(this.getColumn(setKeys[s])).append(" = CASE ").append(column);
+                for (var i = 0; i < rows; i++) {
+                    builder.append(" WHEN ? THEN ?");
+                }
+                builder.append(" END");
+            }
+            builder.append(" WHERE ").append(column).append(" IN (");
+            for (var i = 0; i < rows; i++) {
+                builder.append(i > 0 ? ", ?" : "?");
+            }
+            builder.append(")");
+            template = this.putCrudSql(key, builder.toString());
+        }
 
-        return this.update(table, setParam, whereParam);
+        return template;
     }
 
     /**
@@ -1041,24 +2686,30 @@ public abstract class Database implements IDatabase {
      * 
      * @param table      table name
      * @param whereParam where param
+     * @param fieldMap   model field, null if not model
      * @return SqlParamInfo
      * @throws Exception
      */
-    private SqlParamInfo getDeleteSql(String table, Map<String, Object> whereParam) throws Exception {
+    private SqlParamInfo getDeleteSql(String table, Map<String, Object> whereParam, Map<String, FieldInfo> fieldMap)
+            throws Exception {
         if (table == null || table.isEmpty())
             throw new Exception("table is null!");
+        var keys = getKeys(whereParam);
+        var key = getCrudKey('D', table, keys);
         SqlParamInfo m = new SqlParamInfo();
-        m.sql = "DELETE FROM " + this.encodeColumn(table) + " WHERE 1=1";
-        if (whereParam != null && whereParam.size() > 0) {
-            List<Object> plist = new ArrayList<>(whereParam.size());
-            if (whereParam != null && whereParam.size() > 0) {
-                for (Map.Entry<String, Object> kv : whereParam.entrySet()) {
-                    m.sql = m.sql + " AND " + this.encodeColumn(kv.getKey()) + " = ?";
-                    plist.add(kv.getValue());
-                }
+        m.template = this.getCrudSql(key);
+        if (m.template == null) {
+            var builder = new StringBuilder(128);
+            builder.append("DELETE FROM ").append(this.getColumn(table)).append(" WHERE 1=1");
+            for (var k : keys) {
+                builder.append(" AND ").append(this.getColumn(k)).append(" = ?");
             }
-            m.param = plist.toArray();
+            m.template = this.putCrudSql(key, builder.toString());
         }
+        m.sql = m.template.getSql();
+        m.param = new Object[keys.length];
+        getValues(whereParam, keys, m.param, 0);
+        m.handlers = getHandlers(fieldMap, keys);
 
         return m;
     }
@@ -1075,24 +2726,9 @@ public abstract class Database implements IDatabase {
     public int delete(String table, Map<String, Object> whereParam) throws Exception {
         if (table == null || table.isEmpty())
             throw new Exception("table is null!");
-        var sqlparam = this.getDeleteSql(table, whereParam);
-        int result = 0;
-        this.open();
-        try (var statement = this.connection.prepareStatement(sqlparam.sql)) {
-            for (var i = 0; i < sqlparam.param.length; i++) {
-                var o = sqlparam.param[i];
-                if (o != null) {
-                    var t = o.getClass();
-                    var handler = typeHandlerRegistry.getTypeHandler(t);
-                    handler.setParameter(statement, i + 1, o);
-                } else {
-                    statement.setNull(i + 1, Types.VARCHAR);
-                }
-            }
-            result = statement.executeUpdate();
-        }
+        var sqlparam = this.getDeleteSql(table, whereParam, null);
 
-        return result;
+        return this.executeUpdate(sqlparam);
     }
 
     /**
@@ -1108,9 +2744,9 @@ public abstract class Database implements IDatabase {
     public <TModel> int delete(Class<TModel> clazz, Map<String, Object> whereParam) throws Exception {
         if (clazz == null)
             throw new Exception("T class is null!");
-        var table = clazz.getSimpleName();
+        var sqlparam = this.getDeleteSql(clazz.getSimpleName(), whereParam, this.getFieldMap(clazz));
 
-        return this.delete(table, whereParam);
+        return this.executeUpdate(sqlparam);
     }
 
 }
@@ -5,6 +5,10 @@ import java.util.Map;
 
 /**
  * database
+ * <p>
+ * ${name} or #{name} parameter value is Collection or array: expand to in list,
+ * where id in (${ids})
+ * </p>
  */
 public interface IDatabase extends AutoCloseable {
 
@@ -64,7 +68,9 @@ public interface IDatabase extends AutoCloseable {
      * @param sql   update/delete/insert; param: ? or ${name} or #{name}
      * @param param update tb set name = ? where id = ? param is Object[];
      *              update tb set name = ${mame} where id = ${id} param is model or
-     *              Map&lt;String, Object&gt;
+     *              Map&lt;String, Object&gt;; Collection or array param is in
+     *              list, more than 512 value execute several statement, use
+     *              transaction to be atomic
      * @return int
      * @throws Exception
      */
@@ -79,7 +85,8 @@ public interface IDatabase extends AutoCloseable {
      * @param param select id, name from tb where id = ? param is Object[];
      *              select id, name from tb where id = ${id} param is model or
      *              Map&lt;String, Object&gt;
-     * @return first model
+     * @return first model; in list more than 512 value query chunk until row
+     *         found, T is base type like count(*) is error
      * @throws Exception
      */
     <T> T queryOne(String sql, Class<T> clazz, Object... param) throws Exception;
@@ -122,6 +129,49 @@ public interface IDatabase extends AutoCloseable {
      */
     List<Map<String, Object>> queryListMap(String sql, Object... param) throws Exception;
 
+    /**
+     * query List by RowMapper
+     * 
+     * @param <T>    T
+     * @param sql    select sql; param: ? or ${name} or #{name}
+     * @param mapper row mapper
+     * @param param  select id, name from tb where id = ? param is Object[];
+     *               select id, name from tb where id = ${id} param is model or
+     *               Map&lt;String, Object&gt;
+     * @return List
+     * @throws Exception
+     */
+    <T> List<T> queryList(String sql, RowMapper<T> mapper, Object... param) throws Exception;
+
+    /**
+     * query and process each row, not create List
+     * 
+     * @param sql      select sql; param: ? or ${name} or #{name}
+     * @param callback row callback
+     * @param param    select id, name from tb where id = ? param is Object[];
+     *                 select id, name from tb where id = ${id} param is model or
+     *                 Map&lt;String, Object&gt;
+     * @return row count
+     * @throws Exception
+     */
+    int query(String sql, RowCallback callback, Object... param) throws Exception;
+
+    /**
+     * query and process each row with one reused model, callback must not keep
+     * the model
+     * 
+     * @param <T>      model
+     * @param sql      select sql; param: ? or ${name} or #{name}
+     * @param clazz    T.class
+     * @param callback model callback
+     * @param param    select id, name from tb where id = ? param is Object[];
+     *                 select id, name from tb where id = ${id} param is model or
+     *                 Map&lt;String, Object&gt;
+     * @return row count
+     * @throws Exception
+     */
+    <T> int queryCursor(String sql, Class<T> clazz, ModelCallback<T> callback, Object... param) throws Exception;
+
     /**
      * get first model
      * 
@@ -144,6 +194,84 @@ public interface IDatabase extends AutoCloseable {
      */
     <TModel> List<TModel> getList(Class<TModel> clazz, Map<String, Object> param) throws Exception;
 
+    /**
+     * get page List model
+     * 
+     * @param <TModel> Model
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @param offset   skip row count
+     * @param limit    max row count
+     * @return List Model
+     * @throws Exception
+     */
+    <TModel> List<TModel> getList(Class<TModel> clazz, Map<String, Object> param, long offset, int limit)
+            throws Exception;
+
+    /**
+     * get first model and lock row in transaction
+     * 
+     * @param <TModel> Model
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @param share    true: share lock, false: update lock
+     * @return first Model
+     * @throws Exception
+     */
+    <TModel> TModel getForUpdate(Class<TModel> clazz, Map<String, Object> param, boolean share) throws Exception;
+
+    /**
+     * get first model, only select fields
+     * 
+     * @param <TModel> TModel
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @param fields   select field name
+     * @return first Model, not select field is default
+     * @throws Exception
+     */
+    <TModel> TModel get(Class<TModel> clazz, Map<String, Object> param, String[] fields) throws Exception;
+
+    /**
+     * get List model, only select fields
+     * 
+     * @param <TModel> Model
+     * @param clazz    TModel.class
+     * @param param    where param
+     * @param fields   select field name
+     * @return List Model, not select field is default
+     * @throws Exception
+     */
+    <TModel> List<TModel> getList(Class<TModel> clazz, Map<String, Object> param, String[] fields)
+            throws Exception;
+
+    /**
+     * get first projection, select view field in model
+     * 
+     * @param <TModel> Model
+     * @param <TView>  projection
+     * @param clazz    TModel.class, table
+     * @param view     TView.class
+     * @param param    where param
+     * @return first TView
+     * @throws Exception
+     */
+    <TModel, TView> TView get(Class<TModel> clazz, Class<TView> view, Map<String, Object> param) throws Exception;
+
+    /**
+     * get List projection, select view field in model
+     * 
+     * @param <TModel> Model
+     * @param <TView>  projection
+     * @param clazz    TModel.class, table
+     * @param view     TView.class
+     * @param param    where param
+     * @return List TView
+     * @throws Exception
+     */
+    <TModel, TView> List<TView> getList(Class<TModel> clazz, Class<TView> view, Map<String, Object> param)
+            throws Exception;
+
     /**
      * add row
      * 
@@ -165,6 +293,74 @@ public interface IDatabase extends AutoCloseable {
      */
     <TModel> int add(TModel m, String[] ignore) throws Exception;
 
+    /**
+     * add row list, JDBC batch
+     * 
+     * @param table table name
+     * @param list  insert param list, all row has same keys
+     * @return update count per row
+     * @throws Exception
+     */
+    int[] addBatch(String table, List<Map<String, Object>> list) throws Exception;
+
+    /**
+     * add model list, JDBC batch
+     * 
+     * @param <TModel> Model
+     * @param list     model list, same class
+     * @param ignore   ignore model property name
+     * @return update count per row
+     * @throws Exception
+     */
+    <TModel> int[] addBatch(List<TModel> list, String[] ignore) throws Exception;
+
+    /**
+     * add row list, multi-row insert
+     * 
+     * @param table table name
+     * @param list  insert param list, all row has same keys
+     * @return update count
+     * @throws Exception
+     */
+    int addBulk(String table, List<Map<String, Object>> list) throws Exception;
+
+    /**
+     * add model list, multi-row insert
+     * 
+     * @param <TModel> Model
+     * @param list     model list, same class
+     * @param ignore   ignore model property name
+     * @return update count
+     * @throws Exception
+     */
+    <TModel> int addBulk(List<TModel> list, String[] ignore) throws Exception;
+
+    /**
+     * insert or update model by conflict keys in one statement
+     * 
+     * @param <TModel>     Model
+     * @param m            model
+     * @param conflictKeys unique key property name
+     * @param updates      update property name when key exists, null is all not
+     *                     key property
+     * @return update count
+     * @throws Exception
+     */
+    <TModel> int upsert(TModel m, String[] conflictKeys, String[] updates) throws Exception;
+
+    /**
+     * insert or update model list by conflict keys
+     * 
+     * @param <TModel>     Model
+     * @param list         model list, same class
+     * @param conflictKeys unique key property name
+     * @param updates      update property name when key exists, null is all not
+     *                     key property
+     * @return update count
+     * @throws Exception
+     */
+    <TModel> int upsertBatch(List<TModel> list, String[] conflictKeys, String[] updates) throws Exception;
+
     /**
      * update
      * 
@@ -189,6 +385,32 @@ public interface IDatabase extends AutoCloseable {
     <TModel> int update(Class<TModel> clazz, Map<String, Object> setParam, Map<String, Object> whereParam)
             throws Exception;
 
+    /**
+     * update row list by key column in few statement
+     * 
+     * @param table     table name
+     * @param keyColumn key column name, where key = ?
+     * @param list      row list, all row has same keys, include key column, key
+     *                  value not repeat
+     * @return update count
+     * @throws Exception
+     */
+    int updateBatch(String table, String keyColumn, List<Map<String, Object>> list) throws Exception;
+
+    /**
+     * update row list by key property in few statement
+     * 
+     * @param <TModel>  Model
+     * @param clazz     Model.class
+     * @param keyColumn key property name, where key = ?
+     * @param list      row list, all row has same keys, include key property,
+     *                  key value not repeat
+     * @return update count
+     * @throws Exception
+     */
+    <TModel> int updateBatch(Class<TModel> clazz, String keyColumn, List<Map<String, Object>> list)
+            throws Exception;
+
     /**
      * delete
      * 
@@ -0,0 +1,77 @@
+package cn.myafx.data;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * statement interceptor, call in add order
+ */
+public interface Interceptor {
+
+    /**
+     * statement execution
+     */
+    @FunctionalInterface
+    interface Execution<T> {
+        /**
+         * execute
+         * 
+         * @return ResultSet reader result or update count
+         * @throws Exception
+         */
+        T execute() throws Exception;
+    }
+
+    /**
+     * before prepare statement
+     * 
+     * @param sql sql
+     * @return sql to prepare
+     * @throws Exception
+     */
+    default String beforePrepare(String sql) throws Exception {
+        return sql;
+    }
+
+    /**
+     * after set parameter, not call if sql not has parameter
+     * 
+     * @param sql       sql
+     * @param statement PreparedStatement
+     * @throws Exception
+     */
+    default void afterBind(String sql, PreparedStatement statement) throws Exception {
+    }
+
+    /**
+     * around execute, must call execution.execute() or return other result
+     * 
+     * @param <T>       result
+     * @param sql       sql
+     * @param execution next interceptor or execute statement
+     * @return result
+     * @throws Exception
+     */
+    default <T> T aroundExecute(String sql, Execution<T> execution) throws Exception {
+        return execution.execute();
+    }
+
+    /**
+     * before read ResultSet
+     * 
+     * @param sql       sql
+     * @param resultSet ResultSet
+     * @throws Exception
+     */
+    default void onResultSet(String sql, ResultSet resultSet) throws Exception {
+    }
+
+    /**
+     * on error, exception is rethrow
+     * 
+     * @param sql sql
+     * @param ex  Exception
+     */
+    default void onError(String sql, Exception ex) {
+    }
+}
@@ -0,0 +1,16 @@
+package cn.myafx.data;
+
+/**
+ * process one row model
+ */
+@FunctionalInterface
+public interface ModelCallback<T> {
+
+    /**
+     * process model
+     * 
+     * @param m current row model
+     * @throws Exception
+     */
+    void process(T m) throws Exception;
+}
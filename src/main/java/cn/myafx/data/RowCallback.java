@@ -0,0 +1,16 @@
+package cn.myafx.data;
+
+/**
+ * process one row
+ */
+@FunctionalInterface
+public interface RowCallback {
+
+    /**
+     * process row
+     * 
+     * @param row current row
+     * @throws Exception
+     */
+    void process(RowReader row) throws Exception;
+}
@@ -0,0 +1,18 @@
+package cn.myafx.data;
+
+/**
+ * map one row to object
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * map row
+     * 
+     * @param row    current row
+     * @param rowNum row number, start 0
+     * @return T
+     * @throws Exception
+     */
+    T map(RowReader row, int rowNum) throws Exception;
+}
@@ -0,0 +1,204 @@
+package cn.myafx.data;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.Date;
+
+import cn.myafx.data.type.PrimitiveTypeHandler;
+import cn.myafx.data.type.TypeHandler;
+import cn.myafx.data.type.TypeHandlerRegistry;
+
+/**
+ * current row reader, column index start 1
+ */
+public final class RowReader {
+
+    private final ResultSet resultSet;
+    private final TypeHandlerRegistry registry;
+    private final PrimitiveTypeHandler<?> intHandler;
+    private final PrimitiveTypeHandler<?> longHandler;
+    private final PrimitiveTypeHandler<?> doubleHandler;
+    private final PrimitiveTypeHandler<?> booleanHandler;
+    private final TypeHandler<String> stringHandler;
+    private final TypeHandler<BigDecimal> decimalHandler;
+    private final TypeHandler<Date> dateHandler;
+    private String[] labels;
+
+    /**
+     * RowReader
+     * 
+     * @param resultSet ResultSet
+     * @param registry  TypeHandlerRegistry
+     * @throws Exception
+     */
+    RowReader(ResultSet resultSet, TypeHandlerRegistry registry) throws Exception {
+        this.resultSet = resultSet;
+        this.registry = registry;
+        this.intHandler = (PrimitiveTypeHandler<?>) registry.getDefaultTypeHandler(int.class);
+        this.longHandler = (PrimitiveTypeHandler<?>) registry.getDefaultTypeHandler(long.class);
+        this.doubleHandler = (PrimitiveTypeHandler<?>) registry.getDefaultTypeHandler(double.class);
+        this.booleanHandler = (PrimitiveTypeHandler<?>) registry.getDefaultTypeHandler(boolean.class);
+        this.stringHandler = registry.getDefaultTypeHandler(String.class);
+        this.decimalHandler = registry.getDefaultTypeHandler(BigDecimal.class);
+        this.dateHandler = registry.getDefaultTypeHandler(Date.class);
+    }
+
+    /**
+     * get ResultSet
+     * 
+     * @return ResultSet
+     */
+    public ResultSet getResultSet() {
+        return this.resultSet;
+    }
+
+    /**
+     * column count
+     * 
+     * @return int
+     * @throws Exception
+     */
+    public int getColumnCount() throws Exception {
+        return this.getLabels().length;
+    }
+
+    /**
+     * column label
+     * 
+     * @param column column index
+     * @return label
+     * @throws Exception
+     */
+    public String getLabel(int column) throws Exception {
+        return this.getLabels()[column - 1];
+    }
+
+    private String[] getLabels() throws Exception {
+        if (this.labels == null) {
+            var metaData = this.resultSet.getMetaData();
+            var count = metaData.getColumnCount();
+            var labels = new String[count];
+            for (var i = 0; i < count; i++) {
+                labels[i] = metaData.getColumnLabel(i + 1);
+            }
+            this.labels = labels;
+        }
+        return this.labels;
+    }
+
+    /**
+     * last column read is null
+     * 
+     * @return boolean
+     * @throws Exception
+     */
+    public boolean wasNull() throws Exception {
+        return this.resultSet.wasNull();
+    }
+
+    /**
+     * get int, null is 0
+     * 
+     * @param column column index
+     * @return int
+     * @throws Exception
+     */
+    public int getInt(int column) throws Exception {
+        return this.intHandler.getInt(this.resultSet, column);
+    }
+
+    /**
+     * get long, null is 0
+     * 
+     * @param column column index
+     * @return long
+     * @throws Exception
+     */
+    public long getLong(int column) throws Exception {
+        return this.longHandler.getLong(this.resultSet, column);
+    }
+
+    /**
+     * get double, null is 0
+     * 
+     * @param column column index
+     * @return double
+     * @throws Exception
+     */
+    public double getDouble(int column) throws Exception {
+        return this.doubleHandler.getDouble(this.resultSet, column);
+    }
+
+    /**
+     * get boolean, null is false
+     * 
+     * @param column column index
+     * @return boolean
+     * @throws Exception
+     */
+    public boolean getBoolean(int column) throws Exception {
+        return this.booleanHandler.getBoolean(this.resultSet, column);
+    }
+
+    /**
+     * get String
+     * 
+     * @param column column index
+     * @return String
+     * @throws Exception
+     */
+    public String getString(int column) throws Exception {
+        return this.stringHandler.getResult(this.resultSet, column);
+    }
+
+    /**
+     * get BigDecimal
+     * 
+     * @param column column index
+     * @return BigDecimal
+     * @throws Exception
+     */
+    public BigDecimal getBigDecimal(int column) throws Exception {
+        return this.decimalHandler.getResult(this.resultSet, column);
+    }
+
+    /**
+     * get Date
+     * 
+     * @param column column index
+     * @return Date
+     * @throws Exception
+     */
+    public Date getDate(int column) throws Exception {
+        return this.dateHandler.getResult(this.resultSet, column);
+    }
+
+    /**
+     * get value by type handler
+     * 
+     * @param <T>    value type
+     * @param column column index
+     * @param clazz  T.class
+     * @return T
+     * @throws Exception
+     */
+    public <T> T getValue(int column, Class<T> clazz) throws Exception {
+        if (clazz == null)
+            throw new Exception("clazz is null!");
+        var handler = this.registry.getDefaultTypeHandler(clazz);
+        if (handler == null)
+            throw new Exception(clazz.getName() + " type handler is null!");
+        return handler.getResult(this.resultSet, column);
+    }
+
+    /**
+     * get value by jdbc
+     * 
+     * @param column column index
+     * @return Object
+     * @throws Exception
+     */
+    public Object getObject(int column) throws Exception {
+        return this.resultSet.getObject(column);
+    }
+}
@@ -1,5 +1,8 @@
 package cn.myafx.data;
 
+import cn.myafx.data.mapping.ParamBinder;
+import cn.myafx.data.type.TypeHandler;
+
 /**
  * sql param
  */
@@ -12,4 +15,24 @@ public class SqlParamInfo {
      * param
      */
     public Object[] param;
+    /**
+     * model param binder, param is null if binder is not null
+     */
+    public ParamBinder binder;
+    /**
+     * model param
+     */
+    public Object model;
+    /**
+     * param handler for null value, from model field type
+     */
+    public TypeHandler<?>[] handlers;
+    /**
+     * parsed sql
+     */
+    public SqlTemplate template;
+    /**
+     * next in list chunk
+     */
+    public SqlParamInfo next;
 }
@@ -0,0 +1,246 @@
+package cn.myafx.data;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+
+import cn.myafx.data.mapping.ParamBinder;
+
+/**
+ * parsed sql, ${name} or #{name} rewrite to ?, cache by sql text
+ */
+public final class SqlTemplate {
+
+    private final static int MAX_CACHE_SIZE = 1024;
+    private final static int MAX_EXPANDED_SIZE = 64;
+    private final static Pattern NOT_IN = Pattern.compile("\\bnot\\s+in\\s*\\(\\s*$", Pattern.CASE_INSENSITIVE);
+    private final static Map<String, SqlTemplate> cacheMap = new ConcurrentHashMap<>();
+    private final static Queue<String> cacheQueue = new ConcurrentLinkedQueue<>();
+
+    private final String sql;
+    private final String[] names;
+    private final String[] parts;
+    private final String openToken;
+    private final String closeToken;
+    private final Map<Class<?>, ParamBinder> binderMap = new ConcurrentHashMap<>();
+    private volatile int[] nullTypes;
+    private final Map<String, int[]> expandedNullTypes = new ConcurrentHashMap<>();
+
+    private SqlTemplate(String sql, String[] names, String[] parts, String openToken, String closeToken) {
+        this.sql = sql;
+        this.names = names;
+        this.parts = parts;
+        this.openToken = openToken;
+        this.closeToken = closeToken;
+    }
+
+    /**
+     * get parsed sql from cache
+     * 
+     * @param sql sql text
+     * @return SqlTemplate
+     * @throws Exception
+     */
+    public static SqlTemplate get(String sql) throws Exception {
+        if (sql == null || sql.isEmpty())
+            throw new Exception("sql is null!");
+        var template = cacheMap.get(sql);
+        if (template == null) {
+            template = parse(sql);
+            var old = cacheMap.putIfAbsent(sql, template);
+            if (old != null)
+                return old;
+            // evict first in
+            cacheQueue.offer(sql);
+            while (cacheMap.size() > MAX_CACHE_SIZE) {
+                var key = cacheQueue.poll();
+                if (key == null)
+                    break;
+                cacheMap.remove(key);
+            }
+        }
+
+        return template;
+    }
+
+    /**
+     * parse sql without cache, for generated sql cached by caller
+     * 
+     * @param sql sql text
+     * @return SqlTemplate
+     * @throws Exception
+     */
+    public static SqlTemplate of(String sql) throws Exception {
+        if (sql == null || sql.isEmpty())
+            throw new Exception("sql is null!");
+        return parse(sql);
+    }
+
+    /**
+     * parse sql
+     * 
+     * @param sql sql text
+     * @return SqlTemplate
+     */
+    private static SqlTemplate parse(String sql) {
+        if (sql.indexOf('?') >= 0)
+            return new SqlTemplate(sql, null, null, null, null);
+
+        String openToken = "${";
+        String closeToken = "}";
+        var start = sql.indexOf(openToken);
+        if (start < 0) {
+            openToken = "#{";
+            start = sql.indexOf(openToken);
+        }
+        if (start < 0)
+            return new SqlTemplate(sql, new String[0], new String[] { sql }, openToken, closeToken);
+
+        StringBuilder builder = new StringBuilder(sql.length());
+        List<String> nameList = new ArrayList<>();
+        List<String> partList = new ArrayList<>();
+        var appendStart = 0;
+        var offset = start + openToken.length();
+        var end = sql.indexOf(closeToken, offset);
+        while (start >= 0 && end > start) {
+            nameList.add(sql.substring(offset, end));
+            partList.add(sql.substring(appendStart, start));
+            builder.append(sql, appendStart, start);
+            builder.append('?');
+            appendStart = end + closeToken.length();
+            start = sql.indexOf(openToken, appendStart);
+            if (start < 0)
+                break;
+            offset = start + openToken.length();
+            end = sql.indexOf(closeToken, offset);
+        }
+        partList.add(sql.substring(appendStart));
+        if (appendStart < sql.length()) {
+            builder.append(sql, appendStart, sql.length());
+        }
+
+        return new SqlTemplate(builder.toString(), nameList.toArray(new String[0]), partList.toArray(new String[0]),
+                openToken, closeToken);
+    }
+
+    /**
+     * sql with ? parameter
+     * 
+     * @return String
+     */
+    public String getSql() {
+        return this.sql;
+    }
+
+    /**
+     * sql with ? parameter, expand in list
+     * 
+     * @param slots ? count of each parameter, 0 is one ? and not in list
+     * @return String
+     */
+    public String getSql(int[] slots) {
+        var builder = new StringBuilder(this.sql.length() + slots.length * 8);
+        for (var i = 0; i < this.names.length; i++) {
+            builder.append(this.parts[i]);
+            if (slots[i] > 0) {
+                for (var j = 0; j < slots[i]; j++) {
+                    if (j > 0)
+                        builder.append(", ");
+                    builder.append('?');
+                }
+            } else {
+                builder.append('?');
+            }
+        }
+        builder.append(this.parts[this.names.length]);
+        return builder.toString();
+    }
+
+    /**
+     * is sql use ? parameter, param is Object[]
+     * 
+     * @return boolean
+     */
+    public boolean isPositional() {
+        return this.names == null;
+    }
+
+    /**
+     * parameter name in order, null if positional
+     * 
+     * @return String[]
+     */
+    public String[] getNames() {
+        return this.names;
+    }
+
+    /**
+     * parameter text in sql
+     * 
+     * @param index parameter index
+     * @return ${name} or #{name}
+     */
+    public String getToken(int index) {
+        return this.openToken + this.names[index] + this.closeToken;
+    }
+
+    /**
+     * is parameter after not in (
+     * 
+     * @param index parameter index
+     * @return boolean
+     */
+    public boolean isNotIn(int index) {
+        return NOT_IN.matcher(this.parts[index]).find();
+    }
+
+    /**
+     * get model param binder
+     * 
+     * @param clazz model class
+     * @return ParamBinder, null if not compiled
+     */
+    public ParamBinder getBinder(Class<?> clazz) {
+        return this.binderMap.get(clazz);
+    }
+
+    /**
+     * put model param binder
+     * 
+     * @param clazz  model class
+     * @param binder ParamBinder
+     */
+    public void putBinder(Class<?> clazz, ParamBinder binder) {
+        this.binderMap.put(clazz, binder);
+    }
+
+    /**
+     * sql type of null parameter, load ParameterMetaData once per sql
+     * 
+     * @param ps  PreparedStatement of sql
+     * @param sql getSql() or in list expanded getSql(slots)
+     * @return int[] java.sql.Types, parameter index - 1
+     */
+    public int[] getNullTypes(PreparedStatement ps, String sql) {
+        if (sql == this.sql || sql.equals(this.sql)) {
+            var types = this.nullTypes;
+            if (types == null)
+                this.nullTypes = types = ParamBinder.getNullTypes(ps);
+            return types;
+        }
+        // in list expanded, parameter index not same as template
+        var types = this.expandedNullTypes.get(sql);
+        if (types == null) {
+            types = ParamBinder.getNullTypes(ps);
+            if (this.expandedNullTypes.size() >= MAX_EXPANDED_SIZE)
+                this.expandedNullTypes.clear();
+            this.expandedNullTypes.put(sql, types);
+        }
+        return types;
+    }
+}
@@ -0,0 +1,195 @@
+package cn.myafx.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * per connection PreparedStatement cache, LRU evict
+ */
+public final class StatementCache {
+
+    /**
+     * default max cached statement count
+     */
+    public final static int DEFAULT_SIZE = 32;
+
+    private final static String GENERATED_KEYS = "\0";
+
+    private final Map<String, PreparedStatement> statementMap = new LinkedHashMap<>(16, 0.75f, true);
+    private int maxSize;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * StatementCache
+     * 
+     * @param maxSize max cached statement count, 0 is not cache
+     */
+    public StatementCache(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    /**
+     * max cached statement count
+     * 
+     * @return int
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * set max cached statement count, 0 is not cache
+     * 
+     * @param maxSize max size
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        this.evict();
+    }
+
+    /**
+     * cached statement count
+     * 
+     * @return int
+     */
+    public int getSize() {
+        return this.statementMap.size();
+    }
+
+    /**
+     * hit count
+     * 
+     * @return long
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * miss count
+     * 
+     * @return long
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * get cached or prepare statement, return to cache on close
+     * 
+     * @param connection Connection
+     * @param sql        sql
+     * @return Lease
+     * @throws SQLException
+     */
+    public Lease prepare(Connection connection, String sql) throws SQLException {
+        return this.prepare(connection, sql, false);
+    }
+
+    /**
+     * get cached or prepare statement, return to cache on close
+     * 
+     * @param connection    Connection
+     * @param sql           sql
+     * @param generatedKeys prepare with Statement.RETURN_GENERATED_KEYS, cached
+     *                      apart from plain statement
+     * @return Lease
+     * @throws SQLException
+     */
+    public Lease prepare(Connection connection, String sql, boolean generatedKeys) throws SQLException {
+        var key = generatedKeys ? GENERATED_KEYS + sql : sql;
+        // remove while in use, same sql nested get new statement
+        var statement = this.statementMap.remove(key);
+        if (statement != null) {
+            if (!statement.isClosed() && statement.getConnection() == connection) {
+                this.hitCount++;
+                statement.clearParameters();
+                return new Lease(this, key, statement);
+            }
+            closeQuietly(statement);
+        }
+        this.missCount++;
+        if (generatedKeys)
+            statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        else
+            statement = connection.prepareStatement(sql);
+        return new Lease(this, key, statement);
+    }
+
+    private void release(String sql, PreparedStatement statement) throws SQLException {
+        if (this.maxSize == 0 || statement.isClosed()) {
+            statement.close();
+            return;
+        }
+        var old = this.statementMap.put(sql, statement);
+        if (old != null && old != statement)
+            closeQuietly(old);
+        this.evict();
+    }
+
+    private void evict() {
+        var it = this.statementMap.values().iterator();
+        while (this.statementMap.size() > this.maxSize && it.hasNext()) {
+            var statement = it.next();
+            it.remove();
+            closeQuietly(statement);
+        }
+    }
+
+    /**
+     * close all cached statement
+     */
+    public void clear() {
+        for (var statement : this.statementMap.values()) {
+            closeQuietly(statement);
+        }
+        this.statementMap.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (Exception ex) {
+        }
+    }
+
+    /**
+     * statement in use, close return to cache
+     */
+    public final static class Lease implements AutoCloseable {
+
+        private final StatementCache cache;
+        private final String sql;
+        private final PreparedStatement statement;
+
+        private Lease(StatementCache cache, String sql, PreparedStatement statement) {
+            this.cache = cache;
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        /**
+         * get statement
+         * 
+         * @return PreparedStatement
+         */
+        public PreparedStatement getStatement() {
+            return this.statement;
+        }
+
+        /**
+         * return to cache
+         * 
+         * @throws SQLException
+         */
+        @Override
+        public void close() throws SQLException {
+            this.cache.release(this.sql, this.statement);
+        }
+    }
+}
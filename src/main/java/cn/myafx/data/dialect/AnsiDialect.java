@@ -0,0 +1,24 @@
+package cn.myafx.data.dialect;
+
+/**
+ * generic ansi sql dialect: "name", OFFSET FETCH, MERGE
+ */
+public class AnsiDialect extends Dialect {
+
+    /**
+     * AnsiDialect instance
+     */
+    public final static AnsiDialect INSTANCE = new AnsiDialect();
+
+    /**
+     * AnsiDialect
+     */
+    public AnsiDialect() {
+        super('"', '"');
+    }
+
+    @Override
+    public String getName() {
+        return "ansi";
+    }
+}
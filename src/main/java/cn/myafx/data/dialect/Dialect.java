@@ -0,0 +1,285 @@
+package cn.myafx.data.dialect;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * database sql dialect
+ */
+public abstract class Dialect {
+
+    private final char openQuote;
+    private final char closeQuote;
+
+    /**
+     * Dialect
+     * 
+     * @param openQuote  identifier open quote
+     * @param closeQuote identifier close quote
+     */
+    protected Dialect(char openQuote, char closeQuote) {
+        this.openQuote = openQuote;
+        this.closeQuote = closeQuote;
+    }
+
+    /**
+     * dialect of connected database, by product name and version
+     * 
+     * @param metaData connection DatabaseMetaData
+     * @return mysql: MySqlDialect, h2: H2Dialect, other: AnsiDialect
+     * @throws SQLException
+     */
+    public static Dialect of(DatabaseMetaData metaData) throws SQLException {
+        if (metaData == null)
+            return AnsiDialect.INSTANCE;
+        var name = metaData.getDatabaseProductName();
+        var version = metaData.getDatabaseProductVersion();
+        name = name == null ? "" : name.toLowerCase();
+        version = version == null ? "" : version.toLowerCase();
+        if (name.contains("mariadb") || version.contains("mariadb"))
+            return MySqlDialect.LEGACY;
+        if (name.contains("mysql"))
+            return isVersion(version, 8, 0, 19) ? MySqlDialect.INSTANCE : MySqlDialect.LEGACY;
+        if (name.contains("h2"))
+            return H2Dialect.INSTANCE;
+        return AnsiDialect.INSTANCE;
+    }
+
+    /**
+     * version not less than major.minor.patch
+     * 
+     * @param version version text: 8.0.35-log
+     * @param min     min version number
+     * @return boolean
+     */
+    private static boolean isVersion(String version, int... min) {
+        var arr = version.split("[^0-9]+");
+        var n = 0;
+        for (var s : arr) {
+            if (s.isEmpty())
+                continue;
+            if (n == min.length)
+                break;
+            var v = Integer.parseInt(s);
+            if (v != min[n])
+                return v > min[n];
+            n++;
+        }
+        return n == min.length;
+    }
+
+    /**
+     * dialect name
+     * 
+     * @return name
+     */
+    public abstract String getName();
+
+    /**
+     * quote table or column name, close quote in name double, not cached:
+     * Database.encodeColumn result is cached per Database class
+     * 
+     * @param name table or column name
+     * @return mysql: `name`, h2/ansi: "name"
+     */
+    public String quote(String name) {
+        var builder = new StringBuilder(name.length() + 2);
+        builder.append(this.openQuote);
+        for (int i = 0; i < name.length(); i++) {
+            var c = name.charAt(i);
+            if (c == this.closeQuote)
+                builder.append(c);
+            builder.append(c);
+        }
+        builder.append(this.closeQuote);
+        return builder.toString();
+    }
+
+    /**
+     * max parameter count in one statement
+     * 
+     * @return int
+     */
+    public int getMaxParameterCount() {
+        return 2000;
+    }
+
+    /**
+     * min row count use one UPDATE ... CASE statement, less use JDBC batch
+     * 
+     * @return int
+     */
+    public int getCaseUpdateRows() {
+        return 16;
+    }
+
+    /**
+     * support INSERT INTO tb(a, b) VALUES (?, ?), (?, ?)
+     * 
+     * @return boolean
+     */
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
+    /**
+     * support upsert statement
+     * 
+     * @return boolean
+     */
+    public boolean supportsUpsert() {
+        return true;
+    }
+
+    /**
+     * append limit/offset
+     * 
+     * @param builder select sql
+     * @param offset  skip row count
+     * @param limit   max row count
+     */
+    public void appendLimit(StringBuilder builder, long offset, int limit) {
+        builder.append(" OFFSET ").append(offset).append(" ROWS FETCH NEXT ").append(limit).append(" ROWS ONLY");
+    }
+
+    /**
+     * append lock hint
+     * 
+     * @param builder select sql
+     * @param share   true: share lock, false: update lock
+     */
+    public void appendLock(StringBuilder builder, boolean share) {
+        builder.append(share ? " FOR SHARE" : " FOR UPDATE");
+    }
+
+    /**
+     * append (?, ?), (?, ?)
+     * 
+     * @param builder     sql
+     * @param columnCount column count
+     * @param rowCount    row count
+     */
+    protected void appendValues(StringBuilder builder, int columnCount, int rowCount) {
+        for (int r = 0; r < rowCount; r++) {
+            if (r > 0)
+                builder.append(", ");
+            builder.append("(");
+            for (int i = 0; i < columnCount; i++) {
+                if (i > 0)
+                    builder.append(", ");
+                builder.append("?");
+            }
+            builder.append(")");
+        }
+    }
+
+    /**
+     * append column list: a, b
+     * 
+     * @param builder sql
+     * @param columns quoted column name
+     * @param prefix  column prefix, null is none
+     */
+    protected void appendColumns(StringBuilder builder, String[] columns, String prefix) {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0)
+                builder.append(", ");
+            if (prefix != null)
+                builder.append(prefix);
+            builder.append(columns[i]);
+        }
+    }
+
+    /**
+     * append INSERT INTO tb(a, b) VALUES (?, ?), (?, ?)
+     * 
+     * @param builder  sql
+     * @param table    quoted table name
+     * @param columns  quoted column name
+     * @param rowCount row count, more than 1 need supportsMultiRowInsert
+     */
+    public void appendInsert(StringBuilder builder, String table, String[] columns, int rowCount) {
+        builder.append("INSERT INTO ").append(table).append("(");
+        this.appendColumns(builder, columns, null);
+        builder.append(") VALUES ");
+        this.appendValues(builder, columns.length, rowCount);
+    }
+
+    /**
+     * append upsert, parameter order is columns per row, name is quoted by
+     * Database.encodeColumn
+     * 
+     * @param builder  sql
+     * @param table    quoted table name
+     * @param columns  quoted column name
+     * @param keys     quoted unique key column name
+     * @param updates  quoted update column name when key exists, null is all not
+     *                 key column
+     * @param rowCount row count
+     */
+    public void appendUpsert(StringBuilder builder, String table, String[] columns, String[] keys,
+            String[] updates, int rowCount) {
+        builder.append("MERGE INTO ").append(table).append(" t USING (VALUES ");
+        this.appendValues(builder, columns.length, rowCount);
+        builder.append(") AS s(");
+        this.appendColumns(builder, columns, null);
+        builder.append(") ON ");
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0)
+                builder.append(" AND ");
+            builder.append("t.").append(keys[i]).append(" = s.").append(keys[i]);
+        }
+        var first = true;
+        for (var column : getUpdates(columns, keys, updates)) {
+            builder.append(first ? " WHEN MATCHED THEN UPDATE SET " : ", ");
+            first = false;
+            builder.append(column).append(" = s.").append(column);
+        }
+        builder.append(" WHEN NOT MATCHED THEN INSERT (");
+        this.appendColumns(builder, columns, null);
+        builder.append(") VALUES (");
+        this.appendColumns(builder, columns, "s.");
+        builder.append(")");
+    }
+
+    /**
+     * getUpdates
+     * 
+     * @param columns column name
+     * @param keys    unique key column name
+     * @param updates update column name, null is all not key column
+     * @return update column name
+     */
+    protected static String[] getUpdates(String[] columns, String[] keys, String[] updates) {
+        if (updates != null)
+            return updates;
+        var count = 0;
+        var result = new String[columns.length];
+        for (var column : columns) {
+            if (!contains(keys, column))
+                result[count++] = column;
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * contains name
+     * 
+     * @param names names
+     * @param name  name
+     * @return boolean
+     */
+    protected static boolean contains(String[] names, String name) {
+        for (var n : names) {
+            if (n.equals(name))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return this.getName();
+    }
+}
@@ -0,0 +1,69 @@
+package cn.myafx.data.dialect;
+
+/**
+ * h2 dialect: "name", LIMIT OFFSET, MERGE INTO KEY
+ */
+public class H2Dialect extends Dialect {
+
+    /**
+     * H2Dialect instance
+     */
+    public final static H2Dialect INSTANCE = new H2Dialect();
+
+    /**
+     * H2Dialect
+     */
+    public H2Dialect() {
+        super('"', '"');
+    }
+
+    @Override
+    public String getName() {
+        return "h2";
+    }
+
+    @Override
+    public int getMaxParameterCount() {
+        return 100000;
+    }
+
+    /**
+     * embedded batch is cheap, not use CASE
+     */
+    @Override
+    public int getCaseUpdateRows() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void appendLimit(StringBuilder builder, long offset, int limit) {
+        builder.append(" LIMIT ").append(limit);
+        if (offset > 0)
+            builder.append(" OFFSET ").append(offset);
+    }
+
+    @Override
+    public void appendLock(StringBuilder builder, boolean share) {
+        // h2 only has row update lock
+        builder.append(" FOR UPDATE");
+    }
+
+    /**
+     * MERGE INTO tb(a, b) KEY(a) VALUES (?, ?), (?, ?), MERGE KEY update all
+     * column, use MERGE USING if set updates
+     */
+    @Override
+    public void appendUpsert(StringBuilder builder, String table, String[] columns, String[] keys,
+            String[] updates, int rowCount) {
+        if (updates != null) {
+            super.appendUpsert(builder, table, columns, keys, updates, rowCount);
+            return;
+        }
+        builder.append("MERGE INTO ").append(table).append("(");
+        this.appendColumns(builder, columns, null);
+        builder.append(") KEY(");
+        this.appendColumns(builder, keys, null);
+        builder.append(") VALUES ");
+        this.appendValues(builder, columns.length, rowCount);
+    }
+}
@@ -0,0 +1,103 @@
+package cn.myafx.data.dialect;
+
+/**
+ * mysql dialect: `name`, LIMIT, ON DUPLICATE KEY UPDATE
+ */
+public class MySqlDialect extends Dialect {
+
+    /**
+     * MySqlDialect instance, mysql 8.0.19+: upsert use row alias
+     */
+    public final static MySqlDialect INSTANCE = new MySqlDialect(true);
+
+    /**
+     * MySqlDialect for mysql before 8.0.19 and mariadb: upsert use VALUES(col),
+     * deprecated since mysql 8.0.20
+     */
+    public final static MySqlDialect LEGACY = new MySqlDialect(false);
+
+    private final boolean rowAlias;
+
+    /**
+     * MySqlDialect, mysql 8.0.19+
+     */
+    public MySqlDialect() {
+        this(true);
+    }
+
+    /**
+     * MySqlDialect
+     * 
+     * @param rowAlias true: INSERT ... AS new ON DUPLICATE KEY UPDATE b = new.b
+     *                 (mysql 8.0.19+), false: b = VALUES(b)
+     */
+    public MySqlDialect(boolean rowAlias) {
+        super('`', '`');
+        this.rowAlias = rowAlias;
+    }
+
+    /**
+     * upsert use row alias
+     * 
+     * @return boolean
+     */
+    public boolean isRowAlias() {
+        return this.rowAlias;
+    }
+
+    @Override
+    public String getName() {
+        return "mysql";
+    }
+
+    @Override
+    public int getMaxParameterCount() {
+        return 65535;
+    }
+
+    /**
+     * batch is one round trip per row without rewriteBatchedStatements
+     */
+    @Override
+    public int getCaseUpdateRows() {
+        return 4;
+    }
+
+    @Override
+    public void appendLimit(StringBuilder builder, long offset, int limit) {
+        builder.append(" LIMIT ");
+        if (offset > 0)
+            builder.append(offset).append(", ");
+        builder.append(limit);
+    }
+
+    @Override
+    public void appendLock(StringBuilder builder, boolean share) {
+        builder.append(share ? " LOCK IN SHARE MODE" : " FOR UPDATE");
+    }
+
+    /**
+     * INSERT INTO tb(a, b) VALUES (?, ?) AS new ON DUPLICATE KEY UPDATE b = new.b,
+     * legacy: b = VALUES(b), keys is table unique index
+     */
+    @Override
+    public void appendUpsert(StringBuilder builder, String table, String[] columns, String[] keys,
+            String[] updates, int rowCount) {
+        this.appendInsert(builder, table, columns, rowCount);
+        if (this.rowAlias)
+            builder.append(" AS new");
+        var first = true;
+        for (var column : getUpdates(columns, keys, updates)) {
+            builder.append(first ? " ON DUPLICATE KEY UPDATE " : ", ");
+            first = false;
+            if (this.rowAlias)
+                builder.append(column).append(" = new.").append(column);
+            else
+                builder.append(column).append(" = VALUES(").append(column).append(")");
+        }
+        if (first) {
+            // update nothing
+            builder.append(" ON DUPLICATE KEY UPDATE ").append(columns[0]).append(" = ").append(columns[0]);
+        }
+    }
+}
@@ -16,7 +16,13 @@
 package cn.myafx.data.factory;
 
 import java.io.Serializable;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +34,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -37,8 +44,15 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
 
   private static final long serialVersionUID = -8855120656740914941L;
 
+  private transient ClassValue<Instantiator> instantiatorCache;
+
+  @SuppressWarnings("unchecked")
   @Override
   public <T> T create(Class<T> type) throws Exception {
+    Supplier<?> supplier = getInstantiatorCache().get(type).supplier;
+    if (supplier != null) {
+      return (T) supplier.get();
+    }
     return create(type, null, null);
   }
 
@@ -86,6 +100,55 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
     }
   }
 
+  private ClassValue<Instantiator> getInstantiatorCache() {
+    ClassValue<Instantiator> cache = instantiatorCache;
+    if (cache == null) {
+      cache = new ClassValue<Instantiator>() {
+        @Override
+        protected Instantiator computeValue(Class<?> type) {
+          return new Instantiator(createSupplier(resolveInterface(type)));
+        }
+      };
+      instantiatorCache = cache;
+    }
+    return cache;
+  }
+
+  /**
+   * Creates a Supplier over the no-arg constructor with LambdaMetafactory, so
+   * creating an instance costs a plain new.
+   *
+   * @param type
+   *          class to create
+   * @return the supplier, or null when the constructor is not usable this way
+   */
+  private static Supplier<?> createSupplier(Class<?> type) {
+    if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+      return null;
+    }
+    try {
+      Constructor<?> constructor = type.getDeclaredConstructor();
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      if (!Modifier.isPublic(type.getModifiers()) || !Modifier.isPublic(constructor.getModifiers())) {
+        lookup = MethodHandles.privateLookupIn(type, lookup);
+      }
+      MethodHandle handle = lookup.unreflectConstructor(constructor);
+      CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+          MethodType.methodType(Object.class), handle, MethodType.methodType(type));
+      return (Supplier<?>) site.getTarget().invokeExact();
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+  private static final class Instantiator {
+    private final Supplier<?> supplier;
+
+    private Instantiator(Supplier<?> supplier) {
+      this.supplier = supplier;
+    }
+  }
+
   protected Class<?> resolveInterface(Class<?> type) {
     Class<?> classToCreate;
     if (type == List.class || type == Collection.class || type == Iterable.class) {
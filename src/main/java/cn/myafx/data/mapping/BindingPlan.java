@@ -0,0 +1,319 @@
+package cn.myafx.data.mapping;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+
+import cn.myafx.data.type.PrimitiveTypeHandler;
+import cn.myafx.data.type.TypeHandler;
+
+/**
+ * column to field binding plan, resolve once per (model class, column layout)
+ */
+public final class BindingPlan {
+
+    private final static byte KIND_OBJECT = 0;
+    private final static byte KIND_INT = 1;
+    private final static byte KIND_LONG = 2;
+    private final static byte KIND_DOUBLE = 3;
+    private final static byte KIND_BOOLEAN = 4;
+
+    private final int[] columns;
+    private final FieldAccessor[] accessors;
+    private final TypeHandler<?>[] handlers;
+    private final byte[] kinds;
+    private final FieldInfo[] fields;
+    private final ValueSetter setter;
+    private final ModelMapper<Object> mapper;
+    private final int[] mapperColumns;
+    private final TypeHandler<?>[] mapperHandlers;
+    private final ConstructorInfo creator;
+    private final int[] argColumns;
+    private final TypeHandler<?>[] argHandlers;
+
+    /**
+     * BindingPlan
+     * 
+     * @param modelInfo model info
+     * @param labels    result set column labels
+     * @param generate  generate hidden class ValueSetter for inline column
+     * @throws Exception
+     */
+    @SuppressWarnings("unchecked")
+    public BindingPlan(ModelInfo modelInfo, String[] labels, boolean generate) throws Exception {
+        var type = modelInfo.getType();
+        var fieldMap = modelInfo.getFieldMap();
+        // column used by constructor argument, not set to field
+        var used = new boolean[labels.length];
+        this.creator = modelInfo.getCreator();
+        if (this.creator != null) {
+            var names = this.creator.getNames();
+            this.argColumns = new int[names.length];
+            this.argHandlers = new TypeHandler<?>[names.length];
+            for (var i = 0; i < names.length; i++) {
+                this.argHandlers[i] = this.creator.getHandler(i);
+                for (var j = 0; j < labels.length; j++) {
+                    if (!used[j] && names[i].equals(labels[j])) {
+                        this.argColumns[i] = j + 1;
+                        used[j] = true;
+                        break;
+                    }
+                }
+            }
+        } else {
+            this.argColumns = null;
+            this.argHandlers = null;
+        }
+
+        this.mapper = (ModelMapper<Object>) modelInfo.getMapper();
+        if (this.mapper != null) {
+            // generated ModelMapper read all column, handler is null if read inline
+            var count = this.mapper.getFieldNames().length;
+            this.mapperColumns = new int[count];
+            this.mapperHandlers = new TypeHandler<?>[count];
+            List<FieldInfo> mapperFieldList = new ArrayList<>(count);
+            for (var i = 0; i < labels.length; i++) {
+                var field = used[i] ? null : fieldMap.get(labels[i]);
+                if (field != null && field.getHandler() != null) {
+                    var index = field.getIndex();
+                    mapperFieldList.add(field);
+                    this.mapperColumns[index] = i + 1;
+                    if (!ValueSetterGenerator.isInlineHandler(field.getType(), field.getHandler()))
+                        this.mapperHandlers[index] = field.getHandler();
+                }
+            }
+            this.setter = null;
+            this.columns = new int[0];
+            this.accessors = new FieldAccessor[0];
+            this.handlers = new TypeHandler<?>[0];
+            this.kinds = new byte[0];
+            this.fields = mapperFieldList.toArray(new FieldInfo[0]);
+            return;
+        }
+        this.mapperColumns = null;
+        this.mapperHandlers = null;
+
+        List<Integer> columnList = new ArrayList<>(labels.length);
+        List<FieldInfo> fieldList = new ArrayList<>(labels.length);
+        List<Integer> inlineColumnList = new ArrayList<>(labels.length);
+        List<FieldInfo> inlineFieldList = new ArrayList<>(labels.length);
+        for (var i = 0; i < labels.length; i++) {
+            var field = used[i] ? null : fieldMap.get(labels[i]);
+            if (field != null && field.getHandler() != null) {
+                if (generate && ValueSetterGenerator.canInline(type, field.getField(), field.getHandler())) {
+                    inlineColumnList.add(i + 1);
+                    inlineFieldList.add(field);
+                } else {
+                    columnList.add(i + 1);
+                    fieldList.add(field);
+                }
+            }
+        }
+
+        ValueSetter setter = null;
+        if (inlineFieldList.size() > 0) {
+            var inlineColumns = new int[inlineColumnList.size()];
+            for (var i = 0; i < inlineColumns.length; i++) {
+                inlineColumns[i] = inlineColumnList.get(i);
+            }
+            setter = ValueSetterGenerator.generate(type, inlineColumns,
+                    inlineFieldList.toArray(new FieldInfo[0]));
+            if (setter == null) {
+                // can not define hidden class, use reflective path
+                columnList.addAll(inlineColumnList);
+                fieldList.addAll(inlineFieldList);
+            }
+        }
+        this.setter = setter;
+        List<FieldInfo> boundList = new ArrayList<>(fieldList);
+        if (setter != null)
+            boundList.addAll(inlineFieldList);
+        this.fields = boundList.toArray(new FieldInfo[0]);
+
+        var count = columnList.size();
+        this.columns = new int[count];
+        this.accessors = new FieldAccessor[count];
+        this.handlers = new TypeHandler<?>[count];
+        this.kinds = new byte[count];
+        for (var i = 0; i < count; i++) {
+            var field = fieldList.get(i);
+            this.columns[i] = columnList.get(i);
+            this.accessors[i] = field.getAccessor();
+            this.handlers[i] = field.getHandler();
+            this.kinds[i] = getKind(field.getType(), field.getHandler());
+        }
+    }
+
+    /**
+     * primitive field read by PrimitiveTypeHandler without boxing
+     * 
+     * @param fieldType field type
+     * @param handler   field handler
+     * @return kind
+     */
+    private static byte getKind(Class<?> fieldType, TypeHandler<?> handler) {
+        if (!(handler instanceof PrimitiveTypeHandler))
+            return KIND_OBJECT;
+        if (fieldType == int.class)
+            return KIND_INT;
+        if (fieldType == long.class)
+            return KIND_LONG;
+        if (fieldType == double.class)
+            return KIND_DOUBLE;
+        if (fieldType == boolean.class)
+            return KIND_BOOLEAN;
+        return KIND_OBJECT;
+    }
+
+    /**
+     * get column labels
+     * 
+     * @param metaData ResultSetMetaData
+     * @return String[]
+     * @throws Exception
+     */
+    public static String[] getLabels(ResultSetMetaData metaData) throws Exception {
+        var count = metaData.getColumnCount();
+        var labels = new String[count];
+        for (var i = 0; i < count; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        return labels;
+    }
+
+    /**
+     * column layout fingerprint
+     * 
+     * @param labels column labels
+     * @return String
+     */
+    public static String getFingerprint(String[] labels) {
+        var builder = new StringBuilder(labels.length * 16);
+        for (var i = 0; i < labels.length; i++) {
+            if (i > 0)
+                builder.append('\0');
+            builder.append(labels[i]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * set row value to model
+     * 
+     * @param m         model
+     * @param resultSet ResultSet
+     * @throws Exception
+     */
+    public void setValue(Object m, ResultSet resultSet) throws Exception {
+        if (this.mapper != null) {
+            this.mapper.setValue(m, resultSet, this.mapperColumns, this.mapperHandlers);
+            return;
+        }
+        if (this.setter != null)
+            this.setter.setValue(m, resultSet);
+        for (var i = 0; i < this.columns.length; i++) {
+            var column = this.columns[i];
+            switch (this.kinds[i]) {
+                case KIND_INT: {
+                    var value = ((PrimitiveTypeHandler<?>) this.handlers[i]).getInt(resultSet, column);
+                    if (value != 0 || !resultSet.wasNull())
+                        this.accessors[i].setInt(m, value);
+                    break;
+                }
+                case KIND_LONG: {
+                    var value = ((PrimitiveTypeHandler<?>) this.handlers[i]).getLong(resultSet, column);
+                    if (value != 0 || !resultSet.wasNull())
+                        this.accessors[i].setLong(m, value);
+                    break;
+                }
+                case KIND_DOUBLE: {
+                    var value = ((PrimitiveTypeHandler<?>) this.handlers[i]).getDouble(resultSet, column);
+                    if (value != 0 || !resultSet.wasNull())
+                        this.accessors[i].setDouble(m, value);
+                    break;
+                }
+                case KIND_BOOLEAN: {
+                    var value = ((PrimitiveTypeHandler<?>) this.handlers[i]).getBoolean(resultSet, column);
+                    if (value || !resultSet.wasNull())
+                        this.accessors[i].setBoolean(m, value);
+                    break;
+                }
+                default: {
+                    var value = this.handlers[i].getResult(resultSet, column);
+                    if (value != null)
+                        this.accessors[i].set(m, value);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * get value of field bound to column
+     * 
+     * @param m model
+     * @return Object[]
+     * @throws Exception
+     */
+    public Object[] getValues(Object m) throws Exception {
+        var values = new Object[this.fields.length];
+        for (var i = 0; i < values.length; i++) {
+            values[i] = this.fields[i].get(m);
+        }
+        return values;
+    }
+
+    /**
+     * reset field bound to column, reused model not keep last row value when
+     * column is null
+     * 
+     * @param m      model
+     * @param values value from getValues
+     * @throws Exception
+     */
+    public void resetValues(Object m, Object[] values) throws Exception {
+        for (var i = 0; i < values.length; i++) {
+            this.fields[i].set(m, values[i]);
+        }
+    }
+
+    /**
+     * column set by generated ValueSetter
+     * 
+     * @return boolean
+     */
+    public boolean isGenerated() {
+        return this.setter != null;
+    }
+
+    /**
+     * create model by constructor
+     * 
+     * @return boolean
+     */
+    public boolean isConstructor() {
+        return this.creator != null;
+    }
+
+    /**
+     * create model by constructor with row value, then set the other field
+     * 
+     * @param resultSet ResultSet
+     * @return model
+     * @throws Exception
+     */
+    public Object newInstance(ResultSet resultSet) throws Exception {
+        var args = new Object[this.argColumns.length];
+        for (var i = 0; i < args.length; i++) {
+            Object value = null;
+            if (this.argColumns[i] > 0 && this.argHandlers[i] != null)
+                value = this.argHandlers[i].getResult(resultSet, this.argColumns[i]);
+            args[i] = value != null ? value : this.creator.getDefault(i);
+        }
+        var m = this.creator.newInstance(args);
+        this.setValue(m, resultSet);
+
+        return m;
+    }
+}
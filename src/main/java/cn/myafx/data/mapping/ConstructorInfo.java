@@ -0,0 +1,148 @@
+package cn.myafx.data.mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+
+import cn.myafx.data.type.TypeHandler;
+import cn.myafx.data.type.TypeHandlerRegistry;
+
+/**
+ * constructor mapping info, record canonical constructor or
+ * {@link MappedConstructor}
+ */
+public final class ConstructorInfo {
+
+    private final String[] names;
+    private final Class<?>[] types;
+    private final TypeHandler<?>[] handlers;
+    private final Object[] defaults;
+    private final MethodHandle handle;
+
+    /**
+     * ConstructorInfo
+     * 
+     * @param constructor         model constructor
+     * @param names               column name of arguments
+     * @param typeHandlerRegistry TypeHandlerRegistry
+     * @throws Exception
+     */
+    public ConstructorInfo(Constructor<?> constructor, String[] names, TypeHandlerRegistry typeHandlerRegistry)
+            throws Exception {
+        this.types = constructor.getParameterTypes();
+        if (names.length != this.types.length)
+            throw new Exception("constructor(" + constructor.getDeclaringClass().getName()
+                    + ") argument name count is error!");
+        this.names = names;
+        this.handlers = new TypeHandler<?>[this.types.length];
+        this.defaults = new Object[this.types.length];
+        for (var i = 0; i < this.types.length; i++) {
+            this.handlers[i] = typeHandlerRegistry.getTypeHandler(this.types[i]);
+            if (this.types[i].isPrimitive())
+                this.defaults[i] = Array.get(Array.newInstance(this.types[i], 1), 0);
+        }
+        constructor.trySetAccessible();
+        var type = MethodType.genericMethodType(this.types.length);
+        this.handle = MethodHandles.lookup().unreflectConstructor(constructor).asType(type)
+                .asSpreader(Object[].class, this.types.length);
+    }
+
+    /**
+     * get constructor mapping info
+     * 
+     * @param clazz               model.class
+     * @param typeHandlerRegistry TypeHandlerRegistry
+     * @return ConstructorInfo, null if model not record or no
+     *         {@link MappedConstructor}
+     * @throws Exception
+     */
+    public static ConstructorInfo of(Class<?> clazz, TypeHandlerRegistry typeHandlerRegistry) throws Exception {
+        if (clazz.isRecord()) {
+            var components = clazz.getRecordComponents();
+            var names = new String[components.length];
+            var types = new Class<?>[components.length];
+            for (var i = 0; i < components.length; i++) {
+                names[i] = components[i].getName();
+                types[i] = components[i].getType();
+            }
+            return new ConstructorInfo(clazz.getDeclaredConstructor(types), names, typeHandlerRegistry);
+        }
+
+        for (var constructor : clazz.getDeclaredConstructors()) {
+            var mapped = constructor.getAnnotation(MappedConstructor.class);
+            if (mapped == null)
+                continue;
+            var names = mapped.value();
+            if (names.length == 0) {
+                var parameters = constructor.getParameters();
+                names = new String[parameters.length];
+                for (var i = 0; i < parameters.length; i++) {
+                    if (!parameters[i].isNamePresent())
+                        throw new Exception("constructor(" + clazz.getName()
+                                + ") parameter name not found, compile with -parameters or set @MappedConstructor value!");
+                    names[i] = parameters[i].getName();
+                }
+            }
+            return new ConstructorInfo(constructor, names, typeHandlerRegistry);
+        }
+
+        return null;
+    }
+
+    /**
+     * column name of arguments
+     * 
+     * @return String[]
+     */
+    public String[] getNames() {
+        return this.names.clone();
+    }
+
+    /**
+     * argument count
+     * 
+     * @return int
+     */
+    public int getCount() {
+        return this.names.length;
+    }
+
+    /**
+     * argument TypeHandler
+     * 
+     * @param index argument index
+     * @return TypeHandler, null if not found
+     */
+    public TypeHandler<?> getHandler(int index) {
+        return this.handlers[index];
+    }
+
+    /**
+     * argument value if column not found or null
+     * 
+     * @param index argument index
+     * @return null or primitive default value
+     */
+    public Object getDefault(int index) {
+        return this.defaults[index];
+    }
+
+    /**
+     * create model
+     * 
+     * @param args constructor arguments
+     * @return model
+     * @throws Exception
+     */
+    public Object newInstance(Object[] args) throws Exception {
+        try {
+            return (Object) this.handle.invokeExact(args);
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new Exception(ex);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package cn.myafx.data.mapping;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * field accessor, MethodHandle getter and setter for object value, primitive
+ * value read and write by Field without boxing
+ */
+public final class FieldAccessor {
+
+    private final static MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private final static MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    /**
+     * FieldAccessor
+     * 
+     * @param field model field
+     */
+    public FieldAccessor(Field field) {
+        this.field = field;
+        field.trySetAccessible();
+        var lookup = MethodHandles.lookup();
+        MethodHandle getter = null;
+        MethodHandle setter = null;
+        try {
+            getter = lookup.unreflectGetter(field);
+        } catch (IllegalAccessException ex) {
+        }
+        try {
+            setter = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException ex) {
+        }
+
+        this.getter = getter != null ? getter.asType(GETTER_TYPE) : null;
+        this.setter = setter != null ? setter.asType(SETTER_TYPE) : null;
+    }
+
+    private static Exception toException(Throwable ex) {
+        if (ex instanceof Exception e)
+            return e;
+        if (ex instanceof Error e)
+            throw e;
+        return new Exception(ex);
+    }
+
+    /**
+     * get field value
+     * 
+     * @param m model
+     * @return value
+     * @throws Exception
+     */
+    public Object get(Object m) throws Exception {
+        if (this.getter == null)
+            return this.field.get(m);
+        try {
+            return (Object) this.getter.invokeExact(m);
+        } catch (Throwable ex) {
+            throw toException(ex);
+        }
+    }
+
+    /**
+     * get int field value
+     * 
+     * @param m model
+     * @return value
+     * @throws Exception
+     */
+    public int getInt(Object m) throws Exception {
+        return this.field.getInt(m);
+    }
+
+    /**
+     * get long field value
+     * 
+     * @param m model
+     * @return value
+     * @throws Exception
+     */
+    public long getLong(Object m) throws Exception {
+        return this.field.getLong(m);
+    }
+
+    /**
+     * get double field value
+     * 
+     * @param m model
+     * @return value
+     * @throws Exception
+     */
+    public double getDouble(Object m) throws Exception {
+        return this.field.getDouble(m);
+    }
+
+    /**
+     * get boolean field value
+     * 
+     * @param m model
+     * @return value
+     * @throws Exception
+     */
+    public boolean getBoolean(Object m) throws Exception {
+        return this.field.getBoolean(m);
+    }
+
+    /**
+     * set field value
+     * 
+     * @param m     model
+     * @param value value
+     * @throws Exception
+     */
+    public void set(Object m, Object value) throws Exception {
+        if (this.setter == null) {
+            this.field.set(m, value);
+            return;
+        }
+        try {
+            this.setter.invokeExact(m, value);
+        } catch (Throwable ex) {
+            throw toException(ex);
+        }
+    }
+
+    /**
+     * set int field value
+     * 
+     * @param m     model
+     * @param value value
+     * @throws Exception
+     */
+    public void setInt(Object m, int value) throws Exception {
+        this.field.setInt(m, value);
+    }
+
+    /**
+     * set long field value
+     * 
+     * @param m     model
+     * @param value value
+     * @throws Exception
+     */
+    public void setLong(Object m, long value) throws Exception {
+        this.field.setLong(m, value);
+    }
+
+    /**
+     * set double field value
+     * 
+     * @param m     model
+     * @param value value
+     * @throws Exception
+     */
+    public void setDouble(Object m, double value) throws Exception {
+        this.field.setDouble(m, value);
+    }
+
+    /**
+     * set boolean field value
+     * 
+     * @param m     model
+     * @param value value
+     * @throws Exception
+     */
+    public void setBoolean(Object m, boolean value) throws Exception {
+        this.field.setBoolean(m, value);
+    }
+}
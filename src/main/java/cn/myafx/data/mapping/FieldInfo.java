@@ -0,0 +1,134 @@
+package cn.myafx.data.mapping;
+
+import java.lang.reflect.Field;
+
+import cn.myafx.data.type.TypeHandler;
+
+/**
+ * model field mapping info
+ */
+public final class FieldInfo {
+
+    private final String name;
+    private final Class<?> type;
+    private final Field field;
+    private final TypeHandler<?> handler;
+    private final FieldAccessor accessor;
+    private final ModelMapper<Object> mapper;
+    private final int index;
+
+    /**
+     * FieldInfo
+     * 
+     * @param field   model field, accessible
+     * @param handler field type handler, null if not found
+     */
+    public FieldInfo(Field field, TypeHandler<?> handler) {
+        this.name = field.getName();
+        this.type = field.getType();
+        this.field = field;
+        this.handler = handler;
+        this.accessor = new FieldAccessor(field);
+        this.mapper = null;
+        this.index = -1;
+    }
+
+    /**
+     * FieldInfo
+     * 
+     * @param mapper  generated ModelMapper
+     * @param index   field index of mapper
+     * @param handler field type handler, null if not found
+     */
+    @SuppressWarnings("unchecked")
+    public FieldInfo(ModelMapper<?> mapper, int index, TypeHandler<?> handler) {
+        this.name = mapper.getFieldNames()[index];
+        this.type = mapper.getFieldTypes()[index];
+        this.field = null;
+        this.handler = handler;
+        this.accessor = null;
+        this.mapper = (ModelMapper<Object>) mapper;
+        this.index = index;
+    }
+
+    /**
+     * field name
+     * 
+     * @return String
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * field
+     * 
+     * @return Field, null if use ModelMapper
+     */
+    public Field getField() {
+        return this.field;
+    }
+
+    /**
+     * field type
+     * 
+     * @return Class
+     */
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * field type handler
+     * 
+     * @return TypeHandler, null if not found
+     */
+    public TypeHandler<?> getHandler() {
+        return this.handler;
+    }
+
+    /**
+     * field accessor
+     * 
+     * @return FieldAccessor, null if use ModelMapper
+     */
+    public FieldAccessor getAccessor() {
+        return this.accessor;
+    }
+
+    /**
+     * field index of ModelMapper
+     * 
+     * @return int, -1 if not use ModelMapper
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * get field value
+     * 
+     * @param m model
+     * @return value
+     * @throws Exception
+     */
+    public Object get(Object m) throws Exception {
+        if (this.mapper != null)
+            return this.mapper.getValue(m, this.index);
+        return this.accessor.get(m);
+    }
+
+    /**
+     * set field value
+     * 
+     * @param m     model
+     * @param value value
+     * @throws Exception
+     */
+    public void set(Object m, Object value) throws Exception {
+        if (this.mapper != null)
+            this.mapper.setValue(m, this.index, value);
+        else
+            this.accessor.set(m, value);
+    }
+}
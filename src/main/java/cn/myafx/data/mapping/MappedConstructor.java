@@ -0,0 +1,38 @@
+package cn.myafx.data.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * create model by this constructor, column map to constructor argument by
+ * name. record use the canonical constructor without this annotation.
+ * 
+ * <pre>
+ * public final class tb1 {
+ *     private final Integer id;
+ *     private final String name;
+ * 
+ *     &#064;MappedConstructor({ "id", "name" })
+ *     public tb1(Integer id, String name) {
+ *         this.id = id;
+ *         this.name = name;
+ *     }
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.CONSTRUCTOR)
+public @interface MappedConstructor {
+
+    /**
+     * column name of constructor arguments, default: parameter name (compile
+     * with -parameters)
+     * 
+     * @return String[]
+     */
+    String[] value() default {};
+}
@@ -0,0 +1,25 @@
+package cn.myafx.data.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * generate {@link ModelMapper} for the model at compile time, need
+ * annotation processor cn.myafx.data.processor.ModelMapperProcessor
+ * 
+ * <pre>
+ * &#064;MappedModel
+ * public class tb1 {
+ *     Integer id;
+ *     String name;
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface MappedModel {
+}
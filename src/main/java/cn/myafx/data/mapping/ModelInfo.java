@@ -0,0 +1,258 @@
+package cn.myafx.data.mapping;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.myafx.data.type.TypeHandler;
+import cn.myafx.data.type.TypeHandlerRegistry;
+
+/**
+ * model mapping info, build once per class and shared by all Database
+ */
+public final class ModelInfo {
+
+    private final static int NOT_MODEL = Modifier.ABSTRACT | Modifier.STATIC | Modifier.FINAL | Modifier.STRICT;
+    private final static int CLASS_FIELD = Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE;
+    private final static int MAX_PLAN_SIZE = 256;
+
+    private final Class<?> type;
+    private final boolean baseType;
+    private final String modelError;
+    private final String fieldError;
+    private final Map<String, FieldInfo> fieldMap;
+    private final List<FieldInfo> fields;
+    private final FieldInfo idField;
+    private final TypeHandler<?> handler;
+    private final ModelMapper<?> mapper;
+    private final ConstructorInfo creator;
+    private final int version;
+    private final Map<String, BindingPlan> planMap = new ConcurrentHashMap<>();
+    private final Map<String, BindingPlan> generatedPlanMap = new ConcurrentHashMap<>();
+
+    /**
+     * ModelInfo
+     * 
+     * @param clazz               model.class
+     * @param baseType            clazz is base type
+     * @param typeHandlerRegistry TypeHandlerRegistry
+     * @param mapper              generated ModelMapper, null if not found
+     */
+    public ModelInfo(Class<?> clazz, boolean baseType, TypeHandlerRegistry typeHandlerRegistry,
+            ModelMapper<?> mapper) {
+        // read before resolve handler, register after it make this stale
+        this.version = typeHandlerRegistry.getVersion();
+        this.type = clazz;
+        this.baseType = baseType;
+        this.mapper = baseType ? null : mapper;
+        ConstructorInfo creator = null;
+        String modelError = null;
+        if (!baseType && !clazz.isInterface() && !clazz.isArray()) {
+            try {
+                creator = ConstructorInfo.of(clazz, typeHandlerRegistry);
+            } catch (Exception ex) {
+                modelError = ex.getMessage();
+            }
+        }
+        this.creator = creator;
+        if (!baseType && modelError == null) {
+            if (clazz.isArray() || clazz.isEnum() || clazz.isInterface() || clazz.isAnonymousClass()
+                    || clazz.isAnnotation() || Modifier.isAbstract(clazz.getModifiers())) {
+                modelError = "T(" + clazz.getSimpleName() + ") class is error!";
+            } else if (creator == null && (clazz.getModifiers() & NOT_MODEL) > 0) {
+                // final or static class need record or MappedConstructor
+                modelError = "T(" + clazz.getSimpleName() + ") class is error!";
+            }
+        }
+        this.modelError = modelError;
+
+        TypeHandler<?> handler = null;
+        Map<String, FieldInfo> map = new LinkedHashMap<>();
+        String error = null;
+        if (baseType) {
+            handler = getTypeHandler(typeHandlerRegistry, clazz);
+        } else if (this.mapper != null) {
+            var types = this.mapper.getFieldTypes();
+            for (var i = 0; i < types.length; i++) {
+                var f = new FieldInfo(this.mapper, i, getTypeHandler(typeHandlerRegistry, types[i]));
+                map.put(f.getName(), f);
+            }
+        } else {
+            try {
+                var t = clazz;
+                while (t != null && !Object.class.equals(t)) {
+                    var arr = t.getDeclaredFields();
+                    for (Field f : arr) {
+                        var modifiers = f.getModifiers();
+                        // static field is not column, like serialVersionUID
+                        if (Modifier.isStatic(modifiers))
+                            continue;
+                        if (modifiers == 0 || (modifiers & CLASS_FIELD) > 0) {
+                            if (!Modifier.isPublic(modifiers))
+                                f.setAccessible(true);
+                            map.put(f.getName(), new FieldInfo(f, getTypeHandler(typeHandlerRegistry, f.getType())));
+                        }
+                    }
+                    t = t.getSuperclass();
+                }
+            } catch (RuntimeException ex) {
+                error = "clazz(" + clazz.getName() + ") is error! Cause: " + ex;
+                map.clear();
+            }
+        }
+        if (error == null && map.size() == 0)
+            error = "clazz(" + clazz.getName() + ") is error!";
+
+        this.handler = handler;
+        this.fieldError = error;
+        this.fieldMap = Collections.unmodifiableMap(map);
+        this.fields = Collections.unmodifiableList(new ArrayList<>(map.values()));
+        this.idField = getIdField(map);
+    }
+
+    private static FieldInfo getIdField(Map<String, FieldInfo> map) {
+        var id = map.get("id");
+        if (id != null)
+            return id;
+        for (var f : map.values()) {
+            if ("id".equalsIgnoreCase(f.getName()))
+                return f;
+        }
+        return null;
+    }
+
+    private static TypeHandler<?> getTypeHandler(TypeHandlerRegistry typeHandlerRegistry, Class<?> clazz) {
+        try {
+            return typeHandlerRegistry.getTypeHandler(clazz);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    /**
+     * model.class
+     * 
+     * @return Class
+     */
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * is base type, eg: int, String, Date
+     * 
+     * @return boolean
+     */
+    public boolean isBaseType() {
+        return this.baseType;
+    }
+
+    /**
+     * base type handler
+     * 
+     * @return TypeHandler, null if not base type
+     */
+    public TypeHandler<?> getHandler() {
+        return this.handler;
+    }
+
+    /**
+     * generated ModelMapper
+     * 
+     * @return ModelMapper, null if not found
+     */
+    public ModelMapper<?> getMapper() {
+        return this.mapper;
+    }
+
+    /**
+     * constructor mapping info
+     * 
+     * @return ConstructorInfo, null if create model by no-arg constructor
+     */
+    public ConstructorInfo getCreator() {
+        return this.creator;
+    }
+
+    /**
+     * check model class
+     * 
+     * @throws Exception
+     */
+    public void checkModel() throws Exception {
+        if (this.modelError != null)
+            throw new Exception(this.modelError);
+    }
+
+    /**
+     * model field map, key: field name
+     * 
+     * @return unmodifiable Map&lt;String, FieldInfo&gt;
+     * @throws Exception
+     */
+    public Map<String, FieldInfo> getFieldMap() throws Exception {
+        if (this.fieldError != null)
+            throw new Exception(this.fieldError);
+        return this.fieldMap;
+    }
+
+    /**
+     * TypeHandlerRegistry version when field handler resolved
+     * 
+     * @return int
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * id field, name is id ignore case, set generated key after insert
+     * 
+     * @return FieldInfo, null if not found
+     */
+    public FieldInfo getIdField() {
+        return this.idField;
+    }
+
+    /**
+     * model fields, declared order
+     * 
+     * @return unmodifiable List&lt;FieldInfo&gt;
+     * @throws Exception
+     */
+    public List<FieldInfo> getFields() throws Exception {
+        if (this.fieldError != null)
+            throw new Exception(this.fieldError);
+        return this.fields;
+    }
+
+    /**
+     * get binding plan by result set column layout
+     * 
+     * @param metaData ResultSetMetaData
+     * @param generate generate hidden class ValueSetter
+     * @return BindingPlan
+     * @throws Exception
+     */
+    public BindingPlan getBindingPlan(ResultSetMetaData metaData, boolean generate) throws Exception {
+        this.getFieldMap();
+        var labels = BindingPlan.getLabels(metaData);
+        var key = BindingPlan.getFingerprint(labels);
+        var map = generate ? this.generatedPlanMap : this.planMap;
+        var plan = map.get(key);
+        if (plan == null) {
+            plan = new BindingPlan(this, labels, generate);
+            if (map.size() >= MAX_PLAN_SIZE)
+                map.clear();
+            map.put(key, plan);
+        }
+
+        return plan;
+    }
+}
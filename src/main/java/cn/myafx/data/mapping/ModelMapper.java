@@ -0,0 +1,77 @@
+package cn.myafx.data.mapping;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import cn.myafx.data.type.TypeHandler;
+
+/**
+ * model mapper, generated at compile time for {@link MappedModel} and load by
+ * ServiceLoader, field index is the index of {@link #getFieldNames()}
+ * 
+ * @param <T> model
+ */
+public interface ModelMapper<T> {
+
+    /**
+     * model.class
+     * 
+     * @return Class
+     */
+    Class<T> getType();
+
+    /**
+     * model field names
+     * 
+     * @return String[]
+     */
+    String[] getFieldNames();
+
+    /**
+     * model field types
+     * 
+     * @return Class[]
+     */
+    Class<?>[] getFieldTypes();
+
+    /**
+     * get field value
+     * 
+     * @param m     model
+     * @param field field index
+     * @return value
+     */
+    Object getValue(T m, int field);
+
+    /**
+     * set field value
+     * 
+     * @param m     model
+     * @param field field index
+     * @param value value
+     */
+    void setValue(T m, int field, Object value);
+
+    /**
+     * set current row value to model
+     * 
+     * @param m         model
+     * @param resultSet ResultSet
+     * @param columns   column index per field, 0: not in result set
+     * @param handlers  TypeHandler per field, null: read column inline
+     * @throws Exception
+     */
+    void setValue(T m, ResultSet resultSet, int[] columns, TypeHandler<?>[] handlers) throws Exception;
+
+    /**
+     * set field value to PreparedStatement parameter
+     * 
+     * @param ps    PreparedStatement
+     * @param i     parameter index
+     * @param m     model
+     * @param field field index
+     * @return false if field can not set inline
+     * @throws Exception
+     */
+    boolean setParameter(PreparedStatement ps, int i, T m, int field) throws Exception;
+}
@@ -0,0 +1,165 @@
+package cn.myafx.data.mapping;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+
+import cn.myafx.data.type.PrimitiveTypeHandler;
+import cn.myafx.data.type.TypeHandler;
+import cn.myafx.data.type.TypeHandlerRegistry;
+
+/**
+ * model parameter binder, resolve once per (sql, model class)
+ */
+public final class ParamBinder {
+
+    private final static byte KIND_OBJECT = 0;
+    private final static byte KIND_INT = 1;
+    private final static byte KIND_LONG = 2;
+    private final static byte KIND_DOUBLE = 3;
+    private final static byte KIND_BOOLEAN = 4;
+    private final static byte KIND_MAPPER = 5;
+
+    private final FieldInfo[] fields;
+    private final FieldAccessor[] accessors;
+    private final TypeHandler<?>[] handlers;
+    private final byte[] kinds;
+    private final ModelMapper<Object> mapper;
+    private final TypeHandlerRegistry registry;
+    private final int version;
+    private volatile int[] nullTypes;
+
+    /**
+     * ParamBinder
+     * 
+     * @param fields    field of each parameter in order
+     * @param modelInfo ModelInfo of fields
+     * @param registry  TypeHandlerRegistry, find handler by value when field
+     *                  handler is null
+     */
+    @SuppressWarnings("unchecked")
+    public ParamBinder(FieldInfo[] fields, ModelInfo modelInfo, TypeHandlerRegistry registry) {
+        this.fields = fields;
+        this.mapper = (ModelMapper<Object>) modelInfo.getMapper();
+        this.registry = registry;
+        this.version = modelInfo.getVersion();
+        this.accessors = new FieldAccessor[fields.length];
+        this.handlers = new TypeHandler<?>[fields.length];
+        this.kinds = new byte[fields.length];
+        for (var i = 0; i < fields.length; i++) {
+            var field = fields[i];
+            var handler = field.getHandler();
+            this.accessors[i] = field.getAccessor();
+            this.handlers[i] = handler;
+            if (field.getAccessor() == null) {
+                this.kinds[i] = KIND_MAPPER;
+            } else if (handler instanceof PrimitiveTypeHandler) {
+                var type = field.getType();
+                if (type == int.class)
+                    this.kinds[i] = KIND_INT;
+                else if (type == long.class)
+                    this.kinds[i] = KIND_LONG;
+                else if (type == double.class)
+                    this.kinds[i] = KIND_DOUBLE;
+                else if (type == boolean.class)
+                    this.kinds[i] = KIND_BOOLEAN;
+            }
+        }
+    }
+
+    /**
+     * parameter count
+     * 
+     * @return int
+     */
+    public int getCount() {
+        return this.fields.length;
+    }
+
+    /**
+     * field handler is not changed by TypeHandlerRegistry register
+     * 
+     * @return boolean
+     */
+    public boolean isCurrent() {
+        return this.version == this.registry.getVersion();
+    }
+
+    /**
+     * set model field value to PreparedStatement parameter
+     * 
+     * @param ps PreparedStatement
+     * @param m  model
+     * @throws Exception
+     */
+    public void setParameter(PreparedStatement ps, Object m) throws Exception {
+        for (var i = 0; i < this.fields.length; i++) {
+            var index = i + 1;
+            switch (this.kinds[i]) {
+                case KIND_INT:
+                    ((PrimitiveTypeHandler<?>) this.handlers[i]).setInt(ps, index, this.accessors[i].getInt(m));
+                    break;
+                case KIND_LONG:
+                    ((PrimitiveTypeHandler<?>) this.handlers[i]).setLong(ps, index, this.accessors[i].getLong(m));
+                    break;
+                case KIND_DOUBLE:
+                    ((PrimitiveTypeHandler<?>) this.handlers[i]).setDouble(ps, index,
+                            this.accessors[i].getDouble(m));
+                    break;
+                case KIND_BOOLEAN:
+                    ((PrimitiveTypeHandler<?>) this.handlers[i]).setBoolean(ps, index,
+                            this.accessors[i].getBoolean(m));
+                    break;
+                case KIND_MAPPER:
+                    if (!this.mapper.setParameter(ps, index, m, this.fields[i].getIndex()))
+                        this.setValue(ps, index, i, this.fields[i].get(m));
+                    break;
+                default:
+                    this.setValue(ps, index, i, this.accessors[i].get(m));
+                    break;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setValue(PreparedStatement ps, int index, int i, Object value) throws Exception {
+        var handler = (TypeHandler<Object>) this.handlers[i];
+        if (value == null) {
+            if (handler != null) {
+                // null with field type
+                handler.setParameter(ps, index, null);
+            } else {
+                var types = this.nullTypes;
+                if (types == null)
+                    this.nullTypes = types = getNullTypes(ps);
+                ps.setNull(index, index <= types.length ? types[index - 1] : Types.VARCHAR);
+            }
+            return;
+        }
+        if (handler == null)
+            handler = (TypeHandler<Object>) this.registry.getDefaultTypeHandler(value.getClass());
+        handler.setParameter(ps, index, value);
+    }
+
+    /**
+     * parameter sql type from ParameterMetaData, VARCHAR if driver not support
+     * 
+     * @param ps PreparedStatement
+     * @return int[] java.sql.Types
+     */
+    public static int[] getNullTypes(PreparedStatement ps) {
+        try {
+            var metaData = ps.getParameterMetaData();
+            var types = new int[metaData.getParameterCount()];
+            for (var i = 0; i < types.length; i++) {
+                try {
+                    types[i] = metaData.getParameterType(i + 1);
+                } catch (Exception ex) {
+                    types[i] = Types.VARCHAR;
+                }
+            }
+            return types;
+        } catch (Exception ex) {
+            return new int[0];
+        }
+    }
+}
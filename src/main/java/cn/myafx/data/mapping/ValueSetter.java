@@ -0,0 +1,18 @@
+package cn.myafx.data.mapping;
+
+import java.sql.ResultSet;
+
+/**
+ * set current row value to model
+ */
+public interface ValueSetter {
+
+    /**
+     * set current row value to model
+     * 
+     * @param m         model
+     * @param resultSet ResultSet
+     * @throws Exception
+     */
+    void setValue(Object m, ResultSet resultSet) throws Exception;
+}
@@ -0,0 +1,456 @@
+package cn.myafx.data.mapping;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import cn.myafx.data.type.BigDecimalTypeHandler;
+import cn.myafx.data.type.BooleanTypeHandler;
+import cn.myafx.data.type.ByteTypeHandler;
+import cn.myafx.data.type.DoubleTypeHandler;
+import cn.myafx.data.type.FloatTypeHandler;
+import cn.myafx.data.type.IntegerTypeHandler;
+import cn.myafx.data.type.LongTypeHandler;
+import cn.myafx.data.type.ShortTypeHandler;
+import cn.myafx.data.type.StringTypeHandler;
+import cn.myafx.data.type.TypeHandler;
+
+/**
+ * generate hidden class ValueSetter per (model class, column layout), the
+ * generated code call rs.getInt(i), rs.getString(i)... and putfield directly
+ */
+final class ValueSetterGenerator {
+
+    /**
+     * inline ResultSet getter of a TypeHandler
+     */
+    private static final class Getter {
+        final String method;
+        final String primitive;
+        final Class<?> boxType;
+
+        Getter(String method, String primitive, Class<?> boxType) {
+            this.method = method;
+            this.primitive = primitive;
+            this.boxType = boxType;
+        }
+    }
+
+    private final static Map<Class<?>, Getter> getterMap = new HashMap<>();
+    static {
+        getterMap.put(IntegerTypeHandler.class, new Getter("getInt", "I", Integer.class));
+        getterMap.put(LongTypeHandler.class, new Getter("getLong", "J", Long.class));
+        getterMap.put(ShortTypeHandler.class, new Getter("getShort", "S", Short.class));
+        getterMap.put(ByteTypeHandler.class, new Getter("getByte", "B", Byte.class));
+        getterMap.put(FloatTypeHandler.class, new Getter("getFloat", "F", Float.class));
+        getterMap.put(DoubleTypeHandler.class, new Getter("getDouble", "D", Double.class));
+        getterMap.put(BooleanTypeHandler.class, new Getter("getBoolean", "Z", Boolean.class));
+        getterMap.put(StringTypeHandler.class, new Getter("getString", null, String.class));
+        getterMap.put(BigDecimalTypeHandler.class, new Getter("getBigDecimal", null, BigDecimal.class));
+    }
+
+    private final static int STATIC_FINAL = Modifier.STATIC | Modifier.FINAL;
+
+    private ValueSetterGenerator() {
+    }
+
+    /**
+     * handler is a stock handler of the field type, and can read column inline
+     * 
+     * @param fieldType field type
+     * @param handler   field TypeHandler
+     * @return boolean
+     */
+    static boolean isInlineHandler(Class<?> fieldType, TypeHandler<?> handler) {
+        if (handler == null)
+            return false;
+        var getter = getterMap.get(handler.getClass());
+        if (getter == null)
+            return false;
+        if (getter.primitive == null)
+            return fieldType == getter.boxType;
+
+        return fieldType == getter.boxType || fieldType.getName().equals(primitiveName(getter.primitive));
+    }
+
+    /**
+     * can inline field read
+     * 
+     * @param type    model.class
+     * @param field   model field
+     * @param handler field TypeHandler
+     * @return boolean
+     */
+    static boolean canInline(Class<?> type, Field field, TypeHandler<?> handler) {
+        if ((field.getModifiers() & STATIC_FINAL) > 0 || !isInlineHandler(field.getType(), handler))
+            return false;
+        var owner = field.getDeclaringClass();
+        if (owner == type)
+            return true;
+
+        return !Modifier.isPrivate(field.getModifiers()) && owner.getPackageName().equals(type.getPackageName())
+                && owner.getClassLoader() == type.getClassLoader();
+    }
+
+    private static String primitiveName(String descriptor) {
+        switch (descriptor) {
+            case "I":
+                return "int";
+            case "J":
+                return "long";
+            case "S":
+                return "short";
+            case "B":
+                return "byte";
+            case "F":
+                return "float";
+            case "D":
+                return "double";
+            case "Z":
+                return "boolean";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * generate ValueSetter
+     * 
+     * @param type    model.class
+     * @param columns column index
+     * @param fields  model field, canInline is true
+     * @return ValueSetter, null if model package is not open to define hidden
+     *         class
+     * @throws Exception
+     */
+    static ValueSetter generate(Class<?> type, int[] columns, FieldInfo[] fields) throws Exception {
+        var bytes = new ClassBuilder(type, columns, fields).build();
+        MethodHandles.Lookup hiddenLookup;
+        try {
+            var lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            hiddenLookup = lookup.defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE);
+        } catch (IllegalAccessException ex) {
+            return null;
+        }
+        var constructor = hiddenLookup.findConstructor(hiddenLookup.lookupClass(), MethodType.methodType(void.class));
+        try {
+            return (ValueSetter) constructor.invoke();
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new Exception(ex);
+        }
+    }
+
+    /**
+     * minimal class file writer for the generated ValueSetter
+     */
+    private static final class ClassBuilder {
+        private final static int CLASS_VERSION = 52;
+
+        private final int[] columns;
+        private final FieldInfo[] fields;
+        private final String className;
+        private final String typeName;
+        private final Map<String, Integer> poolMap = new HashMap<>();
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private final DataOutputStream poolOut = new DataOutputStream(pool);
+        private int poolCount = 1;
+
+        ClassBuilder(Class<?> type, int[] columns, FieldInfo[] fields) {
+            this.columns = columns;
+            this.fields = fields;
+            this.typeName = internalName(type);
+            this.className = this.typeName + "$$ValueSetter";
+        }
+
+        private static String internalName(Class<?> clazz) {
+            return clazz.getName().replace('.', '/');
+        }
+
+        private static String descriptor(Class<?> clazz) {
+            if (clazz.isPrimitive()) {
+                if (clazz == int.class)
+                    return "I";
+                if (clazz == long.class)
+                    return "J";
+                if (clazz == short.class)
+                    return "S";
+                if (clazz == byte.class)
+                    return "B";
+                if (clazz == float.class)
+                    return "F";
+                if (clazz == double.class)
+                    return "D";
+                if (clazz == boolean.class)
+                    return "Z";
+                if (clazz == char.class)
+                    return "C";
+                return "V";
+            }
+            return "L" + internalName(clazz) + ";";
+        }
+
+        private int utf8(String value) throws IOException {
+            var key = "U" + value;
+            var index = this.poolMap.get(key);
+            if (index == null) {
+                this.poolOut.writeByte(1);
+                this.poolOut.writeUTF(value);
+                index = this.poolCount++;
+                this.poolMap.put(key, index);
+            }
+            return index;
+        }
+
+        private int classRef(String name) throws IOException {
+            var key = "C" + name;
+            var index = this.poolMap.get(key);
+            if (index == null) {
+                var nameIndex = this.utf8(name);
+                this.poolOut.writeByte(7);
+                this.poolOut.writeShort(nameIndex);
+                index = this.poolCount++;
+                this.poolMap.put(key, index);
+            }
+            return index;
+        }
+
+        private int memberRef(int tag, String owner, String name, String desc) throws IOException {
+            var key = tag + owner + "." + name + ":" + desc;
+            var index = this.poolMap.get(key);
+            if (index == null) {
+                var ownerIndex = this.classRef(owner);
+                var nameIndex = this.utf8(name);
+                var descIndex = this.utf8(desc);
+                this.poolOut.writeByte(12);
+                this.poolOut.writeShort(nameIndex);
+                this.poolOut.writeShort(descIndex);
+                var nameAndType = this.poolCount++;
+                this.poolOut.writeByte(tag);
+                this.poolOut.writeShort(ownerIndex);
+                this.poolOut.writeShort(nameAndType);
+                index = this.poolCount++;
+                this.poolMap.put(key, index);
+            }
+            return index;
+        }
+
+        private static void pushInt(DataOutputStream code, int value) throws IOException {
+            if (value <= 5) {
+                code.writeByte(0x03 + value); // iconst_n
+            } else if (value <= Byte.MAX_VALUE) {
+                code.writeByte(0x10); // bipush
+                code.writeByte(value);
+            } else {
+                code.writeByte(0x11); // sipush
+                code.writeShort(value);
+            }
+        }
+
+        private static int loadOp(String primitive) {
+            switch (primitive) {
+                case "J":
+                    return 0x16; // lload
+                case "F":
+                    return 0x17; // fload
+                case "D":
+                    return 0x18; // dload
+                default:
+                    return 0x15; // iload
+            }
+        }
+
+        private static int storeOp(String primitive) {
+            switch (primitive) {
+                case "J":
+                    return 0x37; // lstore
+                case "F":
+                    return 0x38; // fstore
+                case "D":
+                    return 0x39; // dstore
+                default:
+                    return 0x36; // istore
+            }
+        }
+
+        byte[] build() throws IOException {
+            var thisIndex = this.classRef(this.className);
+            var superIndex = this.classRef("java/lang/Object");
+            var interfaceIndex = this.classRef(internalName(ValueSetter.class));
+            var typeIndex = this.classRef(this.typeName);
+            var codeName = this.utf8("Code");
+            var frameName = this.utf8("StackMapTable");
+            var initName = this.utf8("<init>");
+            var initDesc = this.utf8("()V");
+            var objectInit = this.memberRef(10, "java/lang/Object", "<init>", "()V");
+            var methodName = this.utf8("setValue");
+            var methodDesc = this.utf8("(Ljava/lang/Object;Ljava/sql/ResultSet;)V");
+            var wasNull = this.memberRef(11, "java/sql/ResultSet", "wasNull", "()Z");
+
+            // setValue(Object m, ResultSet rs): 1 = m, 2 = rs, 3 = (T) m, 4 = value
+            var codeBytes = new ByteArrayOutputStream();
+            var code = new DataOutputStream(codeBytes);
+            List<Integer> targets = new ArrayList<>(this.fields.length);
+            code.writeByte(0x2B); // aload_1
+            code.writeByte(0xC0); // checkcast
+            code.writeShort(typeIndex);
+            code.writeByte(0x4E); // astore_3
+            for (var i = 0; i < this.fields.length; i++) {
+                var field = this.fields[i].getField();
+                var getter = getterMap.get(this.fields[i].getHandler().getClass());
+                var ft = field.getType();
+                var fieldRef = this.memberRef(9, internalName(field.getDeclaringClass()), field.getName(),
+                        descriptor(ft));
+                var getterDesc = "(I)" + (getter.primitive != null ? getter.primitive : descriptor(getter.boxType));
+                var getterRef = this.memberRef(11, "java/sql/ResultSet", getter.method, getterDesc);
+
+                code.writeByte(0x2C); // aload_2
+                pushInt(code, this.columns[i]);
+                code.writeByte(0xB9); // invokeinterface
+                code.writeShort(getterRef);
+                code.writeByte(2);
+                code.writeByte(0);
+                int branch;
+                if (getter.primitive != null) {
+                    code.writeByte(storeOp(getter.primitive));
+                    code.writeByte(4);
+                    code.writeByte(0x2C); // aload_2
+                    code.writeByte(0xB9); // invokeinterface
+                    code.writeShort(wasNull);
+                    code.writeByte(1);
+                    code.writeByte(0);
+                    branch = code.size();
+                    code.writeByte(0x9A); // ifne
+                    code.writeShort(0);
+                    code.writeByte(0x2D); // aload_3
+                    code.writeByte(loadOp(getter.primitive));
+                    code.writeByte(4);
+                    if (!ft.isPrimitive()) {
+                        var valueOf = this.memberRef(10, internalName(getter.boxType), "valueOf",
+                                "(" + getter.primitive + ")" + descriptor(getter.boxType));
+                        code.writeByte(0xB8); // invokestatic
+                        code.writeShort(valueOf);
+                    }
+                } else {
+                    code.writeByte(0x3A); // astore
+                    code.writeByte(4);
+                    code.writeByte(0x19); // aload
+                    code.writeByte(4);
+                    branch = code.size();
+                    code.writeByte(0xC6); // ifnull
+                    code.writeShort(0);
+                    code.writeByte(0x2D); // aload_3
+                    code.writeByte(0x19); // aload
+                    code.writeByte(4);
+                }
+                code.writeByte(0xB5); // putfield
+                code.writeShort(fieldRef);
+                targets.add(branch);
+                targets.add(code.size());
+            }
+            code.writeByte(0xB1); // return
+            code.flush();
+            var codeArray = codeBytes.toByteArray();
+            for (var i = 0; i < targets.size(); i += 2) {
+                var branch = targets.get(i);
+                var offset = targets.get(i + 1) - branch;
+                codeArray[branch + 1] = (byte) (offset >> 8);
+                codeArray[branch + 2] = (byte) offset;
+            }
+
+            // StackMapTable: every branch target has locals [this, Object, ResultSet, T]
+            var frameBytes = new ByteArrayOutputStream();
+            var frame = new DataOutputStream(frameBytes);
+            var last = -1;
+            for (var i = 0; i < targets.size(); i += 2) {
+                var offset = targets.get(i + 1);
+                var delta = last < 0 ? offset : offset - last - 1;
+                if (last < 0) {
+                    frame.writeByte(252); // append_frame, 1 local
+                    frame.writeShort(delta);
+                    frame.writeByte(7); // Object_variable_info
+                    frame.writeShort(typeIndex);
+                } else if (delta <= 63) {
+                    frame.writeByte(delta); // same_frame
+                } else {
+                    frame.writeByte(251); // same_frame_extended
+                    frame.writeShort(delta);
+                }
+                last = offset;
+            }
+            frame.flush();
+            var frameArray = frameBytes.toByteArray();
+
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+            this.poolOut.flush();
+            out.writeShort(this.poolCount);
+            out.write(this.pool.toByteArray());
+            out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+            out.writeShort(thisIndex);
+            out.writeShort(superIndex);
+            out.writeShort(1);
+            out.writeShort(interfaceIndex);
+            out.writeShort(0); // fields
+            out.writeShort(2); // methods
+
+            // public <init>()
+            out.writeShort(0x0001);
+            out.writeShort(initName);
+            out.writeShort(initDesc);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(12 + 5);
+            out.writeShort(1); // max_stack
+            out.writeShort(1); // max_locals
+            out.writeInt(5);
+            out.writeByte(0x2A); // aload_0
+            out.writeByte(0xB7); // invokespecial
+            out.writeShort(objectInit);
+            out.writeByte(0xB1); // return
+            out.writeShort(0);
+            out.writeShort(0);
+
+            // public void setValue(Object, ResultSet)
+            out.writeShort(0x0001);
+            out.writeShort(methodName);
+            out.writeShort(methodDesc);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            var frameLength = targets.size() > 0 ? 8 + frameArray.length : 0;
+            out.writeInt(12 + codeArray.length + frameLength);
+            out.writeShort(4); // max_stack
+            out.writeShort(6); // max_locals
+            out.writeInt(codeArray.length);
+            out.write(codeArray);
+            out.writeShort(0); // exception_table
+            if (targets.size() > 0) {
+                out.writeShort(1);
+                out.writeShort(frameName);
+                out.writeInt(2 + frameArray.length);
+                out.writeShort(targets.size() / 2);
+                out.write(frameArray);
+            } else {
+                out.writeShort(0);
+            }
+
+            out.writeShort(0); // class attributes
+            out.flush();
+
+            return bytes.toByteArray();
+        }
+    }
+}
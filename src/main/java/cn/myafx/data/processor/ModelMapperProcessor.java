@@ -0,0 +1,400 @@
+package cn.myafx.data.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * generate cn.myafx.data.mapping.ModelMapper for
+ * cn.myafx.data.mapping.MappedModel at compile time, and register it in
+ * META-INF/services for Database ServiceLoader.
+ * 
+ * registered in META-INF/services/javax.annotation.processing.Processor, javac
+ * run it when myafx-data is in the classpath, or
+ * 
+ * <pre>
+ * javac -processor cn.myafx.data.processor.ModelMapperProcessor ...
+ * </pre>
+ */
+@SupportedAnnotationTypes(ModelMapperProcessor.MAPPED_MODEL)
+public class ModelMapperProcessor extends AbstractProcessor {
+
+    static final String MAPPED_MODEL = "cn.myafx.data.mapping.MappedModel";
+    private static final String MODEL_MAPPER = "cn.myafx.data.mapping.ModelMapper";
+    private static final String MAPPER_SUFFIX = "$$ModelMapper";
+
+    /**
+     * inline jdbc get/set method of a field type, same as the stock TypeHandler
+     */
+    private static final class Jdbc {
+        final String name;
+        final String primitive;
+        final String sqlType;
+
+        Jdbc(String name, String primitive, String sqlType) {
+            this.name = name;
+            this.primitive = primitive;
+            this.sqlType = sqlType;
+        }
+    }
+
+    private static final Map<String, Jdbc> jdbcMap = new HashMap<>();
+    static {
+        put(new Jdbc("Int", "int", "INTEGER"), "java.lang.Integer");
+        put(new Jdbc("Long", "long", "BIGINT"), "java.lang.Long");
+        put(new Jdbc("Short", "short", "SMALLINT"), "java.lang.Short");
+        put(new Jdbc("Byte", "byte", "TINYINT"), "java.lang.Byte");
+        put(new Jdbc("Float", "float", "FLOAT"), "java.lang.Float");
+        put(new Jdbc("Double", "double", "DOUBLE"), "java.lang.Double");
+        put(new Jdbc("Boolean", "boolean", "BOOLEAN"), "java.lang.Boolean");
+        jdbcMap.put("java.lang.String", new Jdbc("String", null, "VARCHAR"));
+        jdbcMap.put("java.math.BigDecimal", new Jdbc("BigDecimal", null, "DECIMAL"));
+    }
+
+    private static void put(Jdbc jdbc, String boxType) {
+        jdbcMap.put(jdbc.primitive, jdbc);
+        jdbcMap.put(boxType, jdbc);
+    }
+
+    /**
+     * model field, read and write by field or by getter/setter
+     */
+    private static final class FieldModel {
+        String name;
+        TypeMirror type;
+        String typeName;
+        String setter;
+        String getter;
+        Jdbc jdbc;
+    }
+
+    private final List<String> mapperList = new ArrayList<>();
+    private int errorCount;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    this.error(element, "@MappedModel only support class!");
+                    continue;
+                }
+                try {
+                    this.generate((TypeElement) element);
+                } catch (IOException ex) {
+                    this.error(element, "generate ModelMapper error: " + ex);
+                }
+            }
+        }
+        // compile fail after error, not register mapper of it
+        if (roundEnv.processingOver() && this.errorCount == 0 && this.mapperList.size() > 0) {
+            try {
+                // keep mapper of class not compiled this time, incremental build
+                var names = this.readServices();
+                names.addAll(this.mapperList);
+                var file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                        "META-INF/services/" + MODEL_MAPPER);
+                try (Writer writer = file.openWriter()) {
+                    for (String name : names) {
+                        writer.write(name);
+                        writer.write('\n');
+                    }
+                }
+            } catch (IOException ex) {
+                this.errorCount++;
+                this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "write META-INF/services/" + MODEL_MAPPER + " error: " + ex);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * read existing META-INF/services in class output
+     * 
+     * @return mapper class name, empty if not exists
+     */
+    private Set<String> readServices() {
+        var names = new LinkedHashSet<String>();
+        try {
+            var file = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + MODEL_MAPPER);
+            try (var reader = new BufferedReader(file.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    var index = line.indexOf('#');
+                    if (index >= 0)
+                        line = line.substring(0, index);
+                    line = line.trim();
+                    if (line.length() > 0)
+                        names.add(line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            // not exists
+        }
+        return names;
+    }
+
+    private void error(Element element, String msg) {
+        this.errorCount++;
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, element);
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private boolean isAccessible(Element member, PackageElement pkg) {
+        var modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE))
+            return false;
+        if (modifiers.contains(Modifier.PUBLIC))
+            return true;
+        var elements = this.processingEnv.getElementUtils();
+        return elements.getPackageOf(member).equals(pkg);
+    }
+
+    private List<FieldModel> getFields(TypeElement type) {
+        var types = this.processingEnv.getTypeUtils();
+        var elements = this.processingEnv.getElementUtils();
+        var pkg = elements.getPackageOf(type);
+        var methods = ElementFilter.methodsIn(elements.getAllMembers(type));
+        Map<String, FieldModel> map = new LinkedHashMap<>();
+        var t = type;
+        while (t != null && !t.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement f : ElementFilter.fieldsIn(t.getEnclosedElements())) {
+                if (f.getModifiers().contains(Modifier.STATIC))
+                    continue;
+                var field = new FieldModel();
+                field.name = f.getSimpleName().toString();
+                field.type = f.asType();
+                field.typeName = types.erasure(field.type).toString();
+                field.jdbc = jdbcMap.get(field.typeName);
+                if (this.isAccessible(f, pkg) && !f.getModifiers().contains(Modifier.FINAL)) {
+                    field.setter = null;
+                    field.getter = null;
+                } else {
+                    var cap = capitalize(field.name);
+                    for (ExecutableElement m : methods) {
+                        if (!this.isAccessible(m, pkg) || m.getModifiers().contains(Modifier.STATIC))
+                            continue;
+                        var name = m.getSimpleName().toString();
+                        var params = m.getParameters();
+                        if (name.equals("set" + cap) && params.size() == 1
+                                && types.isSameType(params.get(0).asType(), field.type)) {
+                            field.setter = name;
+                        } else if ((name.equals("get" + cap) || name.equals("is" + cap)) && params.size() == 0
+                                && types.isSameType(m.getReturnType(), field.type)) {
+                            field.getter = name;
+                        }
+                    }
+                    if (field.setter == null || field.getter == null) {
+                        this.error(f, "field " + t.getSimpleName() + "." + field.name
+                                + " is not accessible and has no get" + cap + "/set" + cap + " method!");
+                    }
+                }
+                // same as reflective mapping: super class field replace the sub class field
+                map.put(field.name, field);
+            }
+            var superType = t.getSuperclass();
+            t = superType.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superType).asElement()
+                    : null;
+        }
+
+        return new ArrayList<>(map.values());
+    }
+
+    private static String boxName(String primitive) {
+        switch (primitive) {
+            case "int":
+                return "java.lang.Integer";
+            case "char":
+                return "java.lang.Character";
+            default:
+                return "java.lang." + capitalize(primitive);
+        }
+    }
+
+    private static String read(FieldModel f) {
+        return f.getter != null ? "m." + f.getter + "()" : "m." + f.name;
+    }
+
+    private static String write(FieldModel f, String value) {
+        return f.setter != null ? "m." + f.setter + "(" + value + ");" : "m." + f.name + " = " + value + ";";
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        var elements = this.processingEnv.getElementUtils();
+        var errorCount = this.errorCount;
+        var fields = this.getFields(type);
+        if (this.errorCount > errorCount)
+            return;
+        var pkg = elements.getPackageOf(type).getQualifiedName().toString();
+        var binaryName = elements.getBinaryName(type).toString();
+        var simpleName = pkg.isEmpty() ? binaryName : binaryName.substring(pkg.length() + 1);
+        var mapperName = simpleName + MAPPER_SUFFIX;
+        var mapperFullName = pkg.isEmpty() ? mapperName : pkg + "." + mapperName;
+        var modelName = type.getQualifiedName().toString();
+
+        var sb = new StringBuilder();
+        if (!pkg.isEmpty())
+            sb.append("package ").append(pkg).append(";\n\n");
+        sb.append("// generated by ").append(ModelMapperProcessor.class.getName()).append("\n");
+        sb.append("@SuppressWarnings(\"unchecked\")\n");
+        sb.append("public final class ").append(mapperName).append(" implements ").append(MODEL_MAPPER)
+                .append("<").append(modelName).append("> {\n\n");
+
+        sb.append("    private static final String[] FIELD_NAMES = {");
+        for (var i = 0; i < fields.size(); i++) {
+            sb.append(i > 0 ? ", \"" : " \"").append(fields.get(i).name).append("\"");
+        }
+        sb.append(" };\n");
+        sb.append("    private static final Class<?>[] FIELD_TYPES = {");
+        for (var i = 0; i < fields.size(); i++) {
+            sb.append(i > 0 ? ", " : " ").append(fields.get(i).typeName).append(".class");
+        }
+        sb.append(" };\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Class<").append(modelName).append("> getType() {\n");
+        sb.append("        return ").append(modelName).append(".class;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public String[] getFieldNames() {\n");
+        sb.append("        return FIELD_NAMES.clone();\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Class<?>[] getFieldTypes() {\n");
+        sb.append("        return FIELD_TYPES.clone();\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Object getValue(").append(modelName).append(" m, int field) {\n");
+        sb.append("        switch (field) {\n");
+        for (var i = 0; i < fields.size(); i++) {
+            sb.append("            case ").append(i).append(":\n");
+            sb.append("                return ").append(read(fields.get(i))).append(";\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                throw new IndexOutOfBoundsException(field);\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public void setValue(").append(modelName).append(" m, int field, Object value) {\n");
+        sb.append("        switch (field) {\n");
+        for (var i = 0; i < fields.size(); i++) {
+            var f = fields.get(i);
+            var cast = f.type.getKind().isPrimitive() ? boxName(f.typeName) : f.type.toString();
+            sb.append("            case ").append(i).append(":\n");
+            sb.append("                ").append(write(f, "(" + cast + ") value")).append("\n");
+            sb.append("                break;\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                throw new IndexOutOfBoundsException(field);\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public void setValue(").append(modelName)
+                .append(" m, java.sql.ResultSet rs, int[] columns, cn.myafx.data.type.TypeHandler<?>[] handlers)\n");
+        sb.append("            throws Exception {\n");
+        sb.append("        int c;\n");
+        for (var i = 0; i < fields.size(); i++) {
+            var f = fields.get(i);
+            var cast = f.type.getKind().isPrimitive() ? boxName(f.typeName) : f.type.toString();
+            sb.append("        c = columns[").append(i).append("];\n");
+            sb.append("        if (c > 0) {\n");
+            var indent = "            ";
+            if (f.jdbc != null) {
+                sb.append("            if (handlers[").append(i).append("] == null) {\n");
+                if (f.jdbc.primitive != null) {
+                    sb.append("                ").append(f.jdbc.primitive).append(" v = rs.get").append(f.jdbc.name)
+                            .append("(c);\n");
+                    sb.append("                if (!rs.wasNull())\n");
+                } else {
+                    sb.append("                ").append(f.typeName).append(" v = rs.get").append(f.jdbc.name)
+                            .append("(c);\n");
+                    sb.append("                if (v != null)\n");
+                }
+                sb.append("                    ").append(write(f, "v")).append("\n");
+                sb.append("            } else {\n");
+                indent = "                ";
+            }
+            sb.append(indent).append("Object v = handlers[").append(i).append("].getResult(rs, c);\n");
+            sb.append(indent).append("if (v != null)\n");
+            sb.append(indent).append("    ").append(write(f, "(" + cast + ") v")).append("\n");
+            if (f.jdbc != null)
+                sb.append("            }\n");
+            sb.append("        }\n");
+        }
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public boolean setParameter(java.sql.PreparedStatement ps, int i, ").append(modelName)
+                .append(" m, int field) throws Exception {\n");
+        sb.append("        switch (field) {\n");
+        for (var i = 0; i < fields.size(); i++) {
+            var f = fields.get(i);
+            if (f.jdbc == null)
+                continue;
+            sb.append("            case ").append(i).append(": {\n");
+            if (f.type.getKind().isPrimitive()) {
+                sb.append("                ps.set").append(f.jdbc.name).append("(i, ").append(read(f)).append(");\n");
+            } else {
+                sb.append("                ").append(f.typeName).append(" v = ").append(read(f)).append(";\n");
+                sb.append("                if (v == null)\n");
+                sb.append("                    ps.setNull(i, java.sql.Types.").append(f.jdbc.sqlType).append(");\n");
+                sb.append("                else\n");
+                sb.append("                    ps.set").append(f.jdbc.name).append("(i, v);\n");
+            }
+            sb.append("                return true;\n");
+            sb.append("            }\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                return false;\n");
+        sb.append("        }\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        var file = this.processingEnv.getFiler().createSourceFile(mapperFullName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(sb.toString());
+        }
+        this.mapperList.add(binaryName.substring(0, binaryName.length() - simpleName.length()) + mapperName);
+    }
+}
@@ -24,7 +24,7 @@ import java.sql.Types;
 /**
  * @author Clinton Begin
  */
-public class BooleanTypeHandler extends BaseTypeHandler<Boolean> {
+public class BooleanTypeHandler extends BaseTypeHandler<Boolean> implements PrimitiveTypeHandler<Boolean> {
 
   @Override
   public void setParameter(PreparedStatement ps, int i, Object parameter)
@@ -53,4 +53,14 @@ public class BooleanTypeHandler extends BaseTypeHandler<Boolean> {
     boolean result = cs.getBoolean(columnIndex);
     return !result && cs.wasNull() ? null : result;
   }
+
+  @Override
+  public boolean getBoolean(ResultSet rs, int columnIndex) throws SQLException {
+    return rs.getBoolean(columnIndex);
+  }
+
+  @Override
+  public void setBoolean(PreparedStatement ps, int i, boolean parameter) throws SQLException {
+    ps.setBoolean(i, parameter);
+  }
 }
@@ -31,7 +31,7 @@ public class DateTypeHandler extends BaseTypeHandler<Date> {
   @Override
   public void setParameter(PreparedStatement ps, int i, Object parameter)
       throws SQLException {
-    if(parameter == null) ps.setNull(i, Types.DATE);
+    if(parameter == null) ps.setNull(i, Types.TIMESTAMP);
     else ps.setTimestamp(i, new Timestamp(((Date)parameter).getTime()));
   }
 
@@ -31,7 +31,7 @@ public class LocalDateTimeTypeHandler extends BaseTypeHandler<LocalDateTime> {
   @Override
   public void setParameter(PreparedStatement ps, int i, Object parameter)
           throws SQLException {
-    if(parameter == null) ps.setNull(i, Types.DATE);
+    if(parameter == null) ps.setNull(i, Types.TIMESTAMP);
     else ps.setObject(i, parameter);
   }
 
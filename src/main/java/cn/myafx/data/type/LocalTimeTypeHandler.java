@@ -31,7 +31,7 @@ public class LocalTimeTypeHandler extends BaseTypeHandler<LocalTime> {
   @Override
   public void setParameter(PreparedStatement ps, int i, Object parameter)
           throws SQLException {
-    if(parameter == null) ps.setNull(i, Types.DATE);
+    if(parameter == null) ps.setNull(i, Types.TIME);
     else ps.setObject(i, parameter);
   }
 
@@ -24,7 +24,7 @@ import java.sql.Types;
 /**
  * @author Clinton Begin
  */
-public class LongTypeHandler extends BaseTypeHandler<Long> {
+public class LongTypeHandler extends BaseTypeHandler<Long> implements PrimitiveTypeHandler<Long> {
 
   @Override
   public void setParameter(PreparedStatement ps, int i, Object parameter)
@@ -53,4 +53,14 @@ public class LongTypeHandler extends BaseTypeHandler<Long> {
     long result = cs.getLong(columnIndex);
     return result == 0 && cs.wasNull() ? null : result;
   }
+
+  @Override
+  public long getLong(ResultSet rs, int columnIndex) throws SQLException {
+    return rs.getLong(columnIndex);
+  }
+
+  @Override
+  public void setLong(PreparedStatement ps, int i, long parameter) throws SQLException {
+    ps.setLong(i, parameter);
+  }
 }
@@ -31,7 +31,7 @@ public class OffsetTimeTypeHandler extends BaseTypeHandler<OffsetTime> {
   @Override
   public void setParameter(PreparedStatement ps, int i, Object parameter)
           throws SQLException {
-    if(parameter == null)  ps.setNull(i, Types.DATE);
+    if(parameter == null)  ps.setNull(i, Types.TIME_WITH_TIMEZONE);
     else ps.setObject(i, parameter);
   }
 
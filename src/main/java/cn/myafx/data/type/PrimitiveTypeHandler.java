@@ -0,0 +1,66 @@
+/*
+ *    Copyright 2009-2021 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package cn.myafx.data.type;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * A {@link TypeHandler} that can read and write primitive values without boxing.
+ * <p>
+ * Like {@link ResultSet#getInt(int)}, the get methods return 0 or false for SQL {@code NULL},
+ * so the caller should check {@link ResultSet#wasNull()} when the value is 0 or false.
+ * </p>
+ */
+public interface PrimitiveTypeHandler<T> extends TypeHandler<T> {
+
+  default int getInt(ResultSet rs, int columnIndex) throws Exception {
+    Object result = getResult(rs, columnIndex);
+    return result == null ? 0 : ((Number) result).intValue();
+  }
+
+  default long getLong(ResultSet rs, int columnIndex) throws Exception {
+    Object result = getResult(rs, columnIndex);
+    return result == null ? 0L : ((Number) result).longValue();
+  }
+
+  default double getDouble(ResultSet rs, int columnIndex) throws Exception {
+    Object result = getResult(rs, columnIndex);
+    return result == null ? 0d : ((Number) result).doubleValue();
+  }
+
+  default boolean getBoolean(ResultSet rs, int columnIndex) throws Exception {
+    Object result = getResult(rs, columnIndex);
+    return result != null && (Boolean) result;
+  }
+
+  default void setInt(PreparedStatement ps, int i, int parameter) throws Exception {
+    ps.setInt(i, parameter);
+  }
+
+  default void setLong(PreparedStatement ps, int i, long parameter) throws Exception {
+    ps.setLong(i, parameter);
+  }
+
+  default void setDouble(PreparedStatement ps, int i, double parameter) throws Exception {
+    ps.setDouble(i, parameter);
+  }
+
+  default void setBoolean(PreparedStatement ps, int i, boolean parameter) throws Exception {
+    ps.setBoolean(i, parameter);
+  }
+
+}
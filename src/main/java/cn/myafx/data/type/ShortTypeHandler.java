@@ -29,7 +29,7 @@ public class ShortTypeHandler extends BaseTypeHandler<Short> {
   @Override
   public void setParameter(PreparedStatement ps, int i, Object parameter)
       throws SQLException {
-    if(parameter == null)  ps.setNull(i, Types.TINYINT);
+    if(parameter == null)  ps.setNull(i, Types.SMALLINT);
     else ps.setShort(i, (Short)parameter);
   }
 
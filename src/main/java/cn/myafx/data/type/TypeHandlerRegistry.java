@@ -40,6 +40,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Clinton Begin
@@ -55,6 +56,11 @@ public final class TypeHandlerRegistry {
 
   private Class<?> defaultEnumTypeHandler = EnumTypeHandler.class;
 
+  // default handler per class, replaced on register
+  private volatile ClassValue<DefaultHandler> defaultHandlerCache = newDefaultHandlerCache();
+  // changed on register, handler resolved before is stale
+  private final AtomicInteger version = new AtomicInteger();
+
   /**
    * The constructor that pass the MyBatis configuration.
    *
@@ -165,6 +171,17 @@ public final class TypeHandlerRegistry {
    */
   public void setDefaultEnumTypeHandler(Class<?> typeHandler) {
     this.defaultEnumTypeHandler = typeHandler;
+    defaultHandlerCache = newDefaultHandlerCache();
+    version.incrementAndGet();
+  }
+
+  /**
+   * register version, changed on every java type register
+   * 
+   * @return int
+   */
+  public int getVersion() {
+    return version.get();
   }
 
   public boolean hasTypeHandler(Class<?> javaType) throws TypeException {
@@ -195,6 +212,31 @@ public final class TypeHandlerRegistry {
     return getTypeHandler(javaTypeReference, null);
   }
 
+  /**
+   * Same as {@link #getTypeHandler(Class)}, but resolved once per class and cached until the next register.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> TypeHandler<T> getDefaultTypeHandler(Class<T> type) throws TypeException {
+    DefaultHandler defaultHandler = defaultHandlerCache.get(type);
+    if (defaultHandler.error != null) {
+      throw defaultHandler.error;
+    }
+    return (TypeHandler<T>) defaultHandler.handler;
+  }
+
+  private ClassValue<DefaultHandler> newDefaultHandlerCache() {
+    return new ClassValue<DefaultHandler>() {
+      @Override
+      protected DefaultHandler computeValue(Class<?> type) {
+        try {
+          return new DefaultHandler(getTypeHandler((Type) type, null), null);
+        } catch (TypeException e) {
+          return new DefaultHandler(null, e);
+        }
+      }
+    };
+  }
+
   public TypeHandler<?> getTypeHandler(JdbcType jdbcType) {
     return jdbcTypeHandlerMap.get(jdbcType);
   }
@@ -369,6 +411,8 @@ public final class TypeHandlerRegistry {
       }
       map.put(jdbcType, handler);
       typeHandlerMap.put(javaType, map);
+      defaultHandlerCache = newDefaultHandlerCache();
+      version.incrementAndGet();
     }
     allTypeHandlersMap.put(handler.getClass(), handler);
   }
@@ -443,4 +487,14 @@ public final class TypeHandlerRegistry {
     return Collections.unmodifiableCollection(allTypeHandlersMap.values());
   }
 
+  private static final class DefaultHandler {
+    private final TypeHandler<?> handler;
+    private final TypeException error;
+
+    private DefaultHandler(TypeHandler<?> handler, TypeException error) {
+      this.handler = handler;
+      this.error = error;
+    }
+  }
+
 }
@@ -31,7 +31,7 @@ public class ZonedDateTimeTypeHandler extends BaseTypeHandler<ZonedDateTime> {
   @Override
   public void setParameter(PreparedStatement ps, int i, Object parameter)
           throws SQLException {
-    if(parameter == null)  ps.setNull(i, Types.VARCHAR);
+    if(parameter == null)  ps.setNull(i, Types.TIMESTAMP_WITH_TIMEZONE);
     else ps.setObject(i, parameter);
   }
 
@@ -0,0 +1,336 @@
+package cn.myafx.data;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import cn.myafx.data.dialect.MySqlDialect;
+import cn.myafx.data.mapping.FieldAccessor;
+import cn.myafx.data.type.TypeHandler;
+
+/**
+ * rough timing of read and write path without database, fake connection wait
+ * latencyNanos per round trip
+ */
+public class BenchApp {
+
+    @FunctionalInterface
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private final static int ROWS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("start")) {
+            start(args[1]);
+            return;
+        }
+        startup();
+        var fake = new FakeConnection();
+        fake.logEnabled = false;
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            read(db, fake);
+            bind(db);
+            write(db, fake);
+            intercept(db, fake);
+        }
+        access();
+        System.out.print("end...............");
+    }
+
+    /**
+     * first query of 20 column model in new jvm, generated ModelMapper against
+     * reflective mapping
+     */
+    private static void startup() throws Exception {
+        var mappedDir = Files.createTempDirectory("mapped");
+        var plainDir = Files.createTempDirectory("plain");
+        var errors = new ArrayList<String>();
+        if (!MapperCompiler.compile(mappedDir, Map.of("cn.myafx.data.gen.tb20m", wideModel("tb20m", true)), errors)
+                || !MapperCompiler.compile(plainDir, Map.of("cn.myafx.data.gen.tb20p", wideModel("tb20p", false)),
+                        errors))
+            throw new Exception("compile model error: " + errors);
+        startup("cold start @MappedModel", mappedDir, "cn.myafx.data.gen.tb20m");
+        startup("cold start reflective", plainDir, "cn.myafx.data.gen.tb20p");
+    }
+
+    private static String wideModel(String name, boolean mapped) {
+        var sb = new StringBuilder("package cn.myafx.data.gen;\n");
+        if (mapped)
+            sb.append("@cn.myafx.data.mapping.MappedModel\n");
+        sb.append("public class ").append(name).append(" {\n");
+        for (var f : tb20.class.getFields()) {
+            if (!Modifier.isStatic(f.getModifiers()))
+                sb.append("    public ").append(f.getType().getCanonicalName()).append(' ').append(f.getName())
+                        .append(";\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private static void startup(String name, Path dir, String className) throws Exception {
+        var times = 5;
+        var init = 0L;
+        var query = 0L;
+        var process = 0L;
+        for (var i = 0; i < times; i++) {
+            var start = System.nanoTime();
+            var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+            var child = new ProcessBuilder(java, "-cp", MapperCompiler.classPath(dir), BenchApp.class.getName(),
+                    "start", className).redirectErrorStream(true).start();
+            var output = new String(child.getInputStream().readAllBytes()).trim();
+            if (child.waitFor() != 0)
+                throw new Exception(name + " error: " + output);
+            process += System.nanoTime() - start;
+            var nanos = output.split(" ");
+            init += Long.parseLong(nanos[0]);
+            query += Long.parseLong(nanos[1]);
+        }
+        System.out.printf("%-40s %6.1f ms init %6.1f ms first query %6.1f ms process%n", name, init / 1e6 / times,
+                query / 1e6 / times, process / 1e6 / times);
+    }
+
+    /**
+     * child jvm of startup, print nanos of Database init and first query
+     */
+    private static void start(String className) throws Exception {
+        var start = System.nanoTime();
+        Class.forName(Database.class.getName());
+        var init = System.nanoTime() - start;
+        start = System.nanoTime();
+        var type = Class.forName(className);
+        var fake = new FakeConnection();
+        fake.labels = tb20.LABELS;
+        fake.rows = new Object[][] { tb20.row(2) };
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            if (db.queryList("select * from tb20", type).size() != 1)
+                throw new Exception("query error!");
+        }
+        System.out.println(init + " " + (System.nanoTime() - start));
+    }
+
+    private static void read(FakeDatabase db, FakeConnection fake) throws Exception {
+        fake.labels = tb20.LABELS;
+        fake.rows = new Object[ROWS][];
+        for (var i = 0; i < ROWS; i++) {
+            fake.rows[i] = tb20.row(i);
+        }
+        var connection = fake.open();
+        time("20 column setValue per row", ROWS,
+                () -> setValueList(connection.createStatement().executeQuery("select * from tb20"), tb20.class));
+        time("20 column binding plan per row", ROWS, () -> db.queryList("select * from tb20", tb20.class));
+        db.setGenerateMapper(true);
+        time("20 column generated setter per row", ROWS, () -> db.queryList("select * from tb20", tb20.class));
+        db.setGenerateMapper(false);
+
+        fake.labels = new String[] { "id", "name", "age" };
+        for (var i = 0; i < ROWS; i++) {
+            fake.rows[i] = new Object[] { i, "n" + i, i % 100 };
+        }
+        time("3 column class per row", ROWS, () -> db.queryList("select * from tb2", tb2.class));
+        time("3 column record per row", ROWS, () -> db.queryList("select * from tb3", tb3.class));
+        fake.rows = new Object[0][];
+    }
+
+    /**
+     * column label, field and handler lookup per cell, as Database.setValue
+     * before binding plan
+     */
+    private static void bind(FakeDatabase db) throws Exception {
+        var m = new tb2();
+        m.id = 1;
+        m.name = "a";
+        time("bind model param", 1, () -> db.execute("update tb2 set name = ${name}, age = ${age} where id = ${id}", m));
+        var param = Map.<String, Object>of("name", "a", "age", 1, "id", 1);
+        time("bind map param", 1, () -> db.execute("update tb2 set name = ${name}, age = ${age} where id = ${id}", param));
+
+        var registry = Database.typeHandlerRegistry;
+        time("getTypeHandler", 1, () -> registry.getTypeHandler(String.class));
+        time("getDefaultTypeHandler", 1, () -> registry.getDefaultTypeHandler(String.class));
+    }
+
+    private static void write(FakeDatabase db, FakeConnection fake) throws Exception {
+        var list = new ArrayList<tb2>(ROWS);
+        var rows = new ArrayList<Map<String, Object>>(ROWS);
+        for (var i = 0; i < ROWS; i++) {
+            var m = new tb2();
+            m.id = i + 1;
+            m.name = "n" + i;
+            list.add(m);
+            var row = new HashMap<String, Object>();
+            row.put("id", i + 1);
+            row.put("age", i);
+            rows.add(row);
+        }
+        // 100 us round trip
+        fake.latencyNanos = 100_000;
+        roundTrip("add row by row", fake, () -> {
+            for (var m : list) {
+                db.add(m, null);
+            }
+        });
+        roundTrip("addBatch", fake, () -> db.addBatch(list, null));
+        roundTrip("addBulk", fake, () -> db.addBulk(list, null));
+        roundTrip("upsertBatch", fake, () -> db.upsertBatch(list, new String[] { "id" }, null));
+        roundTrip("update row by row", fake, () -> {
+            for (var row : rows) {
+                db.update("tb2", Map.of("age", row.get("age")), Map.of("id", row.get("id")));
+            }
+        });
+        roundTrip("updateBatch", fake, () -> db.updateBatch("tb2", "id", rows));
+
+        var ids = new ArrayList<Integer>(ROWS * 2);
+        for (var i = 0; i < ROWS * 2; i++) {
+            ids.add(i);
+        }
+        roundTrip("delete in list", fake, () -> db.execute("delete from tb2 where id in (${ids})", Map.of("ids", ids)));
+        fake.latencyNanos = 0;
+    }
+
+    /**
+     * empty interceptor chain against no interceptor and direct jdbc
+     */
+    private static void intercept(FakeDatabase db, FakeConnection fake) throws Exception {
+        var sql = "update tb2 set name = ?, age = ? where id = ?";
+        var connection = fake.open();
+        time("direct jdbc update", 1, () -> {
+            try (var ps = connection.prepareStatement(sql)) {
+                ps.setString(1, "a");
+                ps.setInt(2, 1);
+                ps.setInt(3, 1);
+                ps.executeUpdate();
+            }
+        });
+        time("execute, no interceptor", 1, () -> db.execute(sql, "a", 1, 1));
+        var interceptor = new Interceptor() {
+        };
+        db.addInterceptor(interceptor);
+        db.addInterceptor(interceptor);
+        time("execute, 2 empty interceptor", 1, () -> db.execute(sql, "a", 1, 1));
+        db.removeInterceptor(interceptor);
+        db.removeInterceptor(interceptor);
+    }
+
+    /**
+     * copy all field of 20 column model, Field against FieldAccessor
+     */
+    private static void access() throws Exception {
+        var fieldList = new ArrayList<Field>();
+        for (var f : tb20.class.getFields()) {
+            if (!Modifier.isStatic(f.getModifiers()))
+                fieldList.add(f);
+        }
+        var fields = fieldList.toArray(new Field[0]);
+        var accessors = new FieldAccessor[fields.length];
+        for (var i = 0; i < fields.length; i++) {
+            accessors[i] = new FieldAccessor(fields[i]);
+        }
+        var source = new tb20[ROWS];
+        var target = new tb20[ROWS];
+        for (var i = 0; i < ROWS; i++) {
+            source[i] = new tb20();
+            target[i] = new tb20();
+        }
+        time("20 field Field get/set per row", ROWS, () -> {
+            for (var i = 0; i < ROWS; i++) {
+                for (var f : fields) {
+                    f.set(target[i], f.get(source[i]));
+                }
+            }
+        });
+        time("20 field FieldAccessor get/set per row", ROWS, () -> {
+            for (var i = 0; i < ROWS; i++) {
+                for (var a : accessors) {
+                    a.set(target[i], a.get(source[i]));
+                }
+            }
+        });
+        var age = tb20.class.getField("age");
+        var ageAccessor = new FieldAccessor(age);
+        time("int Field getInt/setInt per row", ROWS, () -> {
+            for (var i = 0; i < ROWS; i++) {
+                age.setInt(target[i], age.getInt(source[i]));
+            }
+        });
+        time("int FieldAccessor getInt/setInt per row", ROWS, () -> {
+            for (var i = 0; i < ROWS; i++) {
+                ageAccessor.setInt(target[i], ageAccessor.getInt(source[i]));
+            }
+        });
+    }
+
+    private static <T> List<T> setValueList(ResultSet resultSet, Class<T> clazz) throws Exception {
+        Map<String, Field> fieldMap = new HashMap<>();
+        for (var f : clazz.getDeclaredFields()) {
+            if (!Modifier.isStatic(f.getModifiers()))
+                fieldMap.put(f.getName(), f);
+        }
+        Map<String, TypeHandler<?>> handerMap = new HashMap<>();
+        var metaData = resultSet.getMetaData();
+        List<T> list = new ArrayList<>();
+        while (resultSet.next()) {
+            var m = clazz.getDeclaredConstructor().newInstance();
+            var count = metaData.getColumnCount();
+            for (var i = 0; i < count; i++) {
+                var name = metaData.getColumnLabel(i + 1);
+                if (fieldMap.containsKey(name)) {
+                    var field = fieldMap.get(name);
+                    TypeHandler<?> handler = null;
+                    if (handerMap.containsKey(name)) {
+                        handler = handerMap.get(name);
+                    } else {
+                        handler = Database.typeHandlerRegistry.getTypeHandler(field.getType());
+                        handerMap.put(name, handler);
+                    }
+                    var value = handler != null ? handler.getResult(resultSet, i + 1) : null;
+                    if (value != null)
+                        field.set(m, value);
+                }
+            }
+            list.add(m);
+        }
+        return list;
+    }
+
+    private static void roundTrip(String name, FakeConnection fake, Task task) throws Exception {
+        task.run();
+        fake.clear();
+        var start = System.nanoTime();
+        task.run();
+        var millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-40s %10.1f ms %6d round trip %4d prepare%n", name, millis, fake.executeCount,
+                fake.prepareCount);
+    }
+
+    private static void time(String name, int rows, Task task) throws Exception {
+        // warm up until jit compiled
+        run(task, 500_000_000L);
+        var result = run(task, 1_000_000_000L);
+        System.out.printf("%-40s %10.1f ns/%s%n", name, result[0] / (double) result[1] / rows, rows > 1 ? "row" : "op");
+    }
+
+    /**
+     * run task in batch until nanos passed
+     * 
+     * @return { nanos, count }
+     */
+    private static long[] run(Task task, long nanos) throws Exception {
+        var count = 0L;
+        var start = System.nanoTime();
+        var elapsed = 0L;
+        while (elapsed < nanos) {
+            for (var i = 0; i < 100; i++) {
+                task.run();
+            }
+            count += 100;
+            elapsed = System.nanoTime() - start;
+        }
+        return new long[] { elapsed, count };
+    }
+}
@@ -0,0 +1,593 @@
+package cn.myafx.data;
+
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+
+import cn.myafx.data.dialect.AnsiDialect;
+import cn.myafx.data.dialect.H2Dialect;
+import cn.myafx.data.dialect.MySqlDialect;
+import cn.myafx.data.mapping.ModelInfo;
+import cn.myafx.data.mapping.ModelMapper;
+import cn.myafx.data.type.EnumTypeHandler;
+import cn.myafx.data.type.ShortTypeHandler;
+import cn.myafx.data.type.StringTypeHandler;
+
+/**
+ * check sql and binding of write path without database
+ */
+public class CheckApp {
+
+    public static void main(String[] args) throws Exception {
+        registerHandler();
+        bindingPlan();
+        staticField();
+        generateMapper();
+        modelMapper();
+        recordMapping();
+        nullType();
+        inList();
+        dialectCache();
+        pageLock();
+        statementCache();
+        interceptor();
+        addBatch();
+        addBulk();
+        generatedKeys();
+        upsert();
+        updateBatch();
+        System.out.print("end...............");
+    }
+
+    private static void check(boolean ok, String message) throws Exception {
+        if (!ok)
+            throw new Exception("check fail: " + message);
+    }
+
+    private static void registerHandler() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            var m = new tb2();
+            m.id = 1;
+            m.name = "a";
+            db.execute("update tb2 set name = ${name} where id = ${id}", m);
+            Database.typeHandlerRegistry.register(String.class, new StringTypeHandler() {
+                @Override
+                public void setParameter(PreparedStatement ps, int i, Object parameter) throws SQLException {
+                    ps.setString(i, parameter.toString().toUpperCase());
+                }
+            });
+            try {
+                db.execute("update tb2 set name = ${name} where id = ${id}", m);
+            } finally {
+                Database.typeHandlerRegistry.register(String.class, new StringTypeHandler());
+            }
+            check(fake.log.get(0).endsWith("[a, 1]") && fake.log.get(1).endsWith("[A, 1]"),
+                    "register handler " + fake.log);
+        }
+
+        // concurrent register not lose version change
+        var registry = Database.typeHandlerRegistry;
+        var version = registry.getVersion();
+        var threads = new ArrayList<Thread>();
+        for (var i = 0; i < 8; i++) {
+            var thread = new Thread(() -> {
+                for (var j = 0; j < 1000; j++) {
+                    registry.setDefaultEnumTypeHandler(EnumTypeHandler.class);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        check(registry.getVersion() - version == 8000, "register version " + (registry.getVersion() - version));
+        System.out.println("registerHandler ok");
+    }
+
+    private static void bindingPlan() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            fake.labels = tb20.LABELS;
+            fake.rows = new Object[][] { tb20.row(2), tb20.row(3) };
+            var list = db.queryList("select * from tb20", tb20.class);
+            var m = list.get(0);
+            check(m.id == 2 && "n2".equals(m.name) && m.age == 2 && m.total == 2000 && m.score == 1 && !m.enabled
+                    && m.level == 2 && m.weight == 0.5f && m.parentId == 1 && m.rate == 0.2 && m.deleted
+                    && m.sort == 2 && "t2".equals(m.title) && new BigDecimal("2.50").equals(m.price)
+                    && new BigDecimal(6).equals(m.amount) && m.created.equals(m.updated)
+                    && m.created.getTime() == 1_600_000_002_000L, "plan value");
+            m = list.get(1);
+            check(m.id == 3 && m.name == null && m.enabled && m.parentId == null && m.rate == null
+                    && m.deleted == null && m.title == null && m.amount == null && m.updated == null
+                    && "e3@x.cn".equals(m.email), "plan null");
+
+            // other column layout, other plan
+            fake.labels = new String[] { "age", "none", "id" };
+            fake.rows = new Object[][] { { 7, "x", 8 } };
+            m = db.queryList("select age, none, id from tb20", tb20.class).get(0);
+            check(m.age == 7 && m.id == 8 && m.name == null && m.created == null, "plan layout");
+            fake.labels = tb20.LABELS;
+            fake.rows = new Object[][] { tb20.row(4) };
+            m = db.queryList("select * from tb20", tb20.class).get(0);
+            check(m.id == 4 && m.created.equals(new Date(1_600_000_004_000L)), "plan cache");
+        }
+        System.out.println("bindingPlan ok");
+    }
+
+    private static void staticField() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            fake.labels = new String[] { "id", "name", "age" };
+            fake.rows = new Object[][] { { 1, "a", 3 } };
+            var list = db.queryList("select * from tb2 where id = ${id}", tb2.class, Map.of("id", 1));
+            check(list.size() == 1 && list.get(0).id == 1 && "a".equals(list.get(0).name), "static field query");
+            var m = new tb2();
+            m.id = 2;
+            db.add(m, null);
+            check(fake.log.get(1).equals("U INSERT INTO `tb2`(`age`, `id`, `name`) VALUES(?, ?, ?); [0, 2, NULL]"),
+                    "static field insert " + fake.log.get(1));
+        }
+        System.out.println("staticField ok");
+    }
+
+    private static void generateMapper() throws Exception {
+        var fake = new FakeConnection();
+        var labels = new ArrayList<>(List.of(tb20.LABELS));
+        labels.addAll(List.of("version", "extra", "changed"));
+        fake.labels = labels.toArray(new String[0]);
+        fake.rows = new Object[4][];
+        for (var i = 0; i < fake.rows.length; i++) {
+            var row = new ArrayList<>(Arrays.asList(tb20.row(i)));
+            row.add(i * 7L);
+            row.add(i % 2 == 1 ? null : i);
+            row.add(i % 2 == 1 ? null : LocalDateTime.of(2020, 1, 1, 0, 0, i));
+            fake.rows[i] = row.toArray();
+        }
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            var reflective = db.queryList("select * from tb21", tb21.class);
+            db.setGenerateMapper(true);
+            var generated = db.queryList("select * from tb21", tb21.class);
+            check(generated.size() == 4, "generate size");
+            for (var i = 0; i < generated.size(); i++) {
+                check(sameFields(reflective.get(i), generated.get(i)), "generate row " + i);
+            }
+            check(generated.get(2).getVersion() == 14 && generated.get(2).getExtra() == 2
+                    && generated.get(2).getChanged().getSecond() == 2 && generated.get(3).getExtra() == null
+                    && generated.get(3).name == null && generated.get(3).age == 3, "generate value");
+        }
+        var modelInfo = new ModelInfo(tb21.class, false, Database.typeHandlerRegistry, null);
+        var resultSet = fake.open().createStatement().executeQuery("select * from tb21");
+        check(modelInfo.getBindingPlan(resultSet.getMetaData(), true).isGenerated(), "generate hidden class");
+        System.out.println("generateMapper ok");
+    }
+
+    private static void modelMapper() throws Exception {
+        var model = String.join("\n", "package cn.myafx.data.gen;", "@cn.myafx.data.mapping.MappedModel",
+                "public class tb6 {", "    public Integer id;", "    public String name;", "    public int age;",
+                "    public java.math.BigDecimal price;", "    java.util.Date created;", "    private Long total;",
+                "    public Long getTotal() { return total; }",
+                "    public void setTotal(Long total) { this.total = total; }", "}");
+        var dir = Files.createTempDirectory("mapper");
+        var errors = new ArrayList<String>();
+        check(MapperCompiler.compile(dir, Map.of("cn.myafx.data.gen.tb6", model), errors), "processor " + errors);
+        var services = Files.readString(dir.resolve("META-INF/services/" + ModelMapper.class.getName()));
+        check(services.trim().equals("cn.myafx.data.gen.tb6$$ModelMapper"), "processor services " + services);
+
+        var fake = new FakeConnection();
+        fake.labels = new String[] { "id", "name", "age", "price", "created", "total" };
+        fake.rows = new Object[][] { { 1, "a", 3, new BigDecimal("1.50"), new Date(1_600_000_000_000L), 5L },
+                { 2, null, null, null, null, null } };
+        try (var loader = new URLClassLoader(new URL[] { dir.toUri().toURL() }, CheckApp.class.getClassLoader())) {
+            var mapper = ServiceLoader.load(ModelMapper.class, loader).iterator().next();
+            var type = mapper.getType();
+            var resultSet = fake.open().createStatement().executeQuery("select * from tb6");
+            var registry = Database.typeHandlerRegistry;
+            var mapped = new ModelInfo(type, false, registry, mapper).getBindingPlan(resultSet.getMetaData(), false);
+            var reflective = new ModelInfo(type, false, registry, null).getBindingPlan(resultSet.getMetaData(), false);
+            var rows = 0;
+            while (resultSet.next()) {
+                var a = type.getConstructor().newInstance();
+                var b = type.getConstructor().newInstance();
+                mapped.setValue(a, resultSet);
+                reflective.setValue(b, resultSet);
+                check(sameFields(a, b), "processor row " + rows);
+                rows++;
+            }
+            check(rows == 2, "processor rows");
+        }
+
+        // field error, no mapper registered
+        model = String.join("\n", "package cn.myafx.data.gen;", "@cn.myafx.data.mapping.MappedModel",
+                "public class tb7 {", "    public Integer id;", "    private String name;", "}");
+        dir = Files.createTempDirectory("mapper");
+        errors.clear();
+        var ok = MapperCompiler.compile(dir, Map.of("cn.myafx.data.gen.tb7", model), errors);
+        check(!ok && errors.size() == 1 && errors.get(0).contains("tb7.name is not accessible"),
+                "processor error " + errors);
+        check(!Files.exists(dir.resolve("META-INF/services/" + ModelMapper.class.getName())),
+                "processor error services");
+        System.out.println("modelMapper ok");
+    }
+
+    private static void recordMapping() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            fake.labels = new String[] { "age", "id", "name" };
+            fake.rows = new Object[][] { { 5, 1, "a" }, { 6, 2, null } };
+            var list = db.queryList("select * from tb3", tb3.class);
+            check(list.equals(List.of(new tb3(1, "a", 5), new tb3(2, null, 6))), "record " + list);
+        }
+        System.out.println("recordMapping ok");
+    }
+
+    private static void nullType() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            new ShortTypeHandler().setParameter(fake.open().prepareStatement("select ?"), 1, null);
+            check(fake.nullTypes.equals(List.of(Types.SMALLINT)), "short null " + fake.nullTypes);
+
+            // field type of model
+            fake.clear();
+            db.add(new tb20(), null);
+            check(fake.nullTypes.size() == 14 && fake.nullTypes.contains(Types.DECIMAL)
+                    && fake.nullTypes.contains(Types.TIMESTAMP) && fake.metaDataCount == 0,
+                    "model null " + fake.nullTypes);
+
+            // ParameterMetaData once per crud sql, once per expanded in list sql
+            fake.clear();
+            var row = new HashMap<String, Object>();
+            row.put("a", null);
+            row.put("b", null);
+            db.add("tb", row);
+            db.add("tb", row);
+            check(fake.nullTypes.equals(List.of(Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER))
+                    && fake.metaDataCount == 1, "crud null " + fake.metaDataCount);
+            var param = new HashMap<String, Object>();
+            param.put("ids", List.of(1, 2, 3));
+            param.put("name", null);
+            db.execute("delete from tb2 where id in (${ids}) and name = ${name}", param);
+            db.execute("delete from tb2 where id in (${ids}) and name = ${name}", param);
+            param.put("ids", List.of(1, 2, 3, 4, 5));
+            db.execute("delete from tb2 where id in (${ids}) and name = ${name}", param);
+            check(fake.nullTypes.size() == 7 && fake.metaDataCount == 3, "in list null " + fake.metaDataCount);
+        }
+        System.out.println("nullType ok");
+    }
+
+    private static void inList() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            db.execute("delete from tb2 where id in (${ids}) and age = ${age}",
+                    Map.of("ids", List.of(1, 2, 3), "age", 5));
+            check(fake.log.get(0).equals("U delete from tb2 where id in (?, ?, ?, ?) and age = ? [1, 2, 3, 3, 5]"),
+                    "in list pad " + fake.log.get(0));
+
+            fake.clear();
+            var ids = new ArrayList<Integer>();
+            for (var i = 0; i < 1100; i++) {
+                ids.add(i);
+            }
+            check(db.execute("delete from tb2 where id in (${ids})", Map.of("ids", ids)) == 3, "in list chunk count");
+            check(fake.executeCount == 3, "in list chunk " + fake.executeCount);
+            check(count(fake.log.get(0), "?") == 512 && count(fake.log.get(2), "?") == 128, "in list chunk size");
+
+            var error = "";
+            try {
+                db.execute("delete from tb2 where id in (${ids}) or age in (${ages})", Map.of("ids", ids, "ages", ids));
+            } catch (Exception ex) {
+                error = ex.getMessage();
+            }
+            check(error.equals("${ids} and ${ages} size more than 512 is error!"), "in list two large " + error);
+
+            // empty list is in (null)
+            fake.clear();
+            db.execute("delete from tb2 where id in (${ids})", Map.of("ids", List.of()));
+            check(fake.log.get(0).equals("U delete from tb2 where id in (?) [NULL]"), "in list empty " + fake.log);
+            error = "";
+            try {
+                db.execute("delete from tb2 where id NOT IN ( ${ids})", Map.of("ids", List.of()));
+            } catch (Exception ex) {
+                error = ex.getMessage();
+            }
+            check(error.equals("${ids} is empty in not in is error!"), "not in empty " + error);
+
+            // queryOne of chunk stop at first chunk has row
+            fake.clear();
+            fake.labels = new String[] { "id", "name", "age" };
+            fake.rows = new Object[][] { { 600, "a", 3 } };
+            fake.emptyQueryCount = 1;
+            var m = db.queryOne("select * from tb2 where id in (${ids})", tb2.class, Map.of("ids", ids));
+            check(m != null && m.id == 600 && fake.executeCount == 2, "in list queryOne " + fake.executeCount);
+            error = "";
+            try {
+                db.queryOne("select count(*) from tb2 where id in (${ids})", int.class, Map.of("ids", ids));
+            } catch (Exception ex) {
+                error = ex.getMessage();
+            }
+            check(error.equals("T(int) query with in list size more than 512 is error!"), "in list count " + error);
+            fake.rows = new Object[][] { { 7 } };
+            var count = db.queryOne("select count(*) from tb2 where id in (${ids})", int.class,
+                    Map.of("ids", List.of(1)));
+            check(count == 7, "in list count one chunk " + count);
+        }
+        System.out.println("inList ok");
+    }
+
+    private static void dialectCache() throws Exception {
+        var fake = new FakeConnection();
+        try (var mysql = new FakeDatabase(fake, MySqlDialect.INSTANCE);
+                var ansi = new FakeDatabase(fake, AnsiDialect.INSTANCE)) {
+            mysql.add("tb", Map.of("a", 1));
+            ansi.add("tb", Map.of("a", 1));
+            check(fake.log.get(0).equals("U INSERT INTO `tb`(`a`) VALUES(?); [1]"), "mysql quote " + fake.log.get(0));
+            check(fake.log.get(1).equals("U INSERT INTO \"tb\"(\"a\") VALUES(?); [1]"), "ansi quote " + fake.log.get(1));
+        }
+        System.out.println("dialectCache ok");
+    }
+
+    private static void pageLock() throws Exception {
+        var fake = new FakeConnection();
+        var param = Map.<String, Object>of("age", 1);
+        try (var mysql = new FakeDatabase(fake, MySqlDialect.INSTANCE);
+                var h2 = new FakeDatabase(fake, H2Dialect.INSTANCE);
+                var ansi = new FakeDatabase(fake, AnsiDialect.INSTANCE)) {
+            mysql.getList(tb2.class, param, 0, 10);
+            mysql.getList(tb2.class, param, 20, 10);
+            h2.getList(tb2.class, param, 0, 10);
+            h2.getList(tb2.class, param, 20, 10);
+            ansi.getList(tb2.class, param, 20, 10);
+            mysql.getForUpdate(tb2.class, param, true);
+            mysql.getForUpdate(tb2.class, param, false);
+            h2.getForUpdate(tb2.class, param, true);
+            ansi.getForUpdate(tb2.class, param, true);
+            ansi.getForUpdate(tb2.class, param, false);
+            var expect = new String[] { " LIMIT 10", " LIMIT 20, 10", " LIMIT 10", " LIMIT 10 OFFSET 20",
+                    " OFFSET 20 ROWS FETCH NEXT 10 ROWS ONLY", " LOCK IN SHARE MODE", " FOR UPDATE", " FOR UPDATE",
+                    " FOR SHARE", " FOR UPDATE" };
+            check(fake.log.size() == expect.length, "page lock count " + fake.log);
+            for (var i = 0; i < expect.length; i++) {
+                var line = fake.log.get(i);
+                check(line.startsWith("Q SELECT ") && line.endsWith(" = ?" + expect[i] + " [1]"), "page lock " + line);
+            }
+            // lock sql cached per dialect
+            mysql.getForUpdate(tb2.class, param, true);
+            check(fake.log.get(expect.length).equals(fake.log.get(5)), "lock cache " + fake.log);
+            try {
+                mysql.getList(tb2.class, param, 0, 0);
+                check(false, "page limit 0");
+            } catch (Exception e) {
+                check(e.getMessage().equals("limit is error!"), e.getMessage());
+            }
+        }
+        System.out.println("pageLock ok");
+    }
+
+    private static void statementCache() throws Exception {
+        var fake = new FakeConnection();
+        var connection = fake.open();
+        var cache = new StatementCache(2);
+        PreparedStatement first;
+        try (var lease = cache.prepare(connection, "select 1")) {
+            first = lease.getStatement();
+        }
+        cache.prepare(connection, "select 2").close();
+        try (var lease = cache.prepare(connection, "select 1")) {
+            check(lease.getStatement() == first, "cache hit");
+        }
+        cache.prepare(connection, "select 3").close();
+        // select 2 is least recently used
+        check(cache.getSize() == 2 && !first.isClosed(), "cache lru keep");
+        cache.prepare(connection, "select 2").close();
+        check(cache.getHitCount() == 1 && cache.getMissCount() == 4 && fake.prepareCount == 4, "cache lru evict");
+        try (var lease = cache.prepare(connection, "select 1", true)) {
+            check(lease.getStatement() != first, "cache generated keys");
+        }
+        cache.clear();
+        check(cache.getSize() == 0 && first.isClosed(), "cache clear");
+        System.out.println("statementCache ok");
+    }
+
+    private static void interceptor() throws Exception {
+        var fake = new FakeConnection();
+        var events = new ArrayList<String>();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            db.addInterceptor(new Interceptor() {
+                @Override
+                public String beforePrepare(String sql) {
+                    events.add("a.before");
+                    return sql + " /*a*/";
+                }
+
+                @Override
+                public <T> T aroundExecute(String sql, Execution<T> execution) throws Exception {
+                    events.add("a.in");
+                    var result = execution.execute();
+                    events.add("a.out");
+                    return result;
+                }
+            });
+            db.addInterceptor(new Interceptor() {
+                @Override
+                public <T> T aroundExecute(String sql, Execution<T> execution) throws Exception {
+                    events.add("b.in " + sql);
+                    return execution.execute();
+                }
+            });
+            db.execute("update tb2 set age = 1");
+        }
+        check(events.equals(List.of("a.before", "a.in", "b.in update tb2 set age = 1 /*a*/", "a.out")),
+                "interceptor " + events);
+        check(fake.log.get(0).equals("U update tb2 set age = 1 /*a*/ []"), "interceptor sql " + fake.log.get(0));
+        System.out.println("interceptor ok");
+    }
+
+    private static void addBatch() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            db.setBatchSize(2);
+            var list = newList(5);
+            var counts = db.addBatch(list, null);
+            check(counts.length == 5, "addBatch count");
+            check(fake.find("B ").size() == 5 && fake.find("X ").size() == 3, "addBatch chunk " + fake.log);
+            check(fake.prepareCount == 1, "addBatch prepare " + fake.prepareCount);
+        }
+        System.out.println("addBatch ok");
+    }
+
+    private static List<tb2> newList(int size) {
+        var list = new ArrayList<tb2>(size);
+        for (var i = 0; i < size; i++) {
+            var m = new tb2();
+            m.id = i + 1;
+            m.name = "n" + i;
+            list.add(m);
+        }
+        return list;
+    }
+
+    private static void addBulk() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            db.setBatchSize(4);
+            check(db.addBulk(newList(7), null) == 7, "addBulk count");
+            var sqls = fake.find("U ");
+            check(sqls.size() == 3, "addBulk chunk " + sqls);
+            check(sqls.get(0).startsWith(
+                    "U INSERT INTO `tb2`(`age`, `id`, `name`) VALUES (?, ?, ?), (?, ?, ?), (?, ?, ?), (?, ?, ?) ["),
+                    "addBulk sql " + sqls.get(0));
+            check(count(sqls.get(1), "(?, ?, ?)") == 2 && count(sqls.get(2), "(?, ?, ?)") == 1,
+                    "addBulk tail " + sqls);
+
+            // packet size limit split rows
+            fake.clear();
+            db.setBatchSize(1000);
+            db.setMaxPacketSize(300);
+            var maps = new ArrayList<Map<String, Object>>();
+            for (var i = 0; i < 5; i++) {
+                maps.add(Map.of("a", i, "b", "x".repeat(i * 10)));
+            }
+            check(db.addBulk("tb", maps) == 5, "addBulk map count");
+            var rows = 0;
+            for (var sql : fake.find("U ")) {
+                check(sql.length() < 600, "addBulk packet " + sql);
+                rows += count(sql, "(?, ?)");
+            }
+            check(rows == 5 && fake.find("U ").size() > 1, "addBulk packet " + fake.log);
+        }
+        System.out.println("addBulk ok");
+    }
+
+    private static void generatedKeys() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            var m = new tb2();
+            db.add(m, new String[] { "id" });
+            check(m.id != null && m.id == 100, "add generated key " + m.id);
+        }
+        System.out.println("generatedKeys ok");
+    }
+
+    private static void upsert() throws Exception {
+        var fake = new FakeConnection();
+        var m = new tb2();
+        m.id = 1;
+        m.name = "a";
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            db.upsert(m, new String[] { "name" }, null);
+            check(fake.log.get(0).equals("U INSERT INTO `tb2`(`age`, `id`, `name`) VALUES (?, ?, ?) AS new"
+                    + " ON DUPLICATE KEY UPDATE `age` = new.`age` [0, 1, a]"), "mysql upsert " + fake.log.get(0));
+        }
+        fake.clear();
+        try (var db = new FakeDatabase(fake, MySqlDialect.LEGACY)) {
+            db.upsertBatch(List.of(m, m), new String[] { "id" }, new String[] { "name" });
+            check(fake.log.get(0).equals("U INSERT INTO `tb2`(`age`, `id`, `name`) VALUES (?, ?, ?), (?, ?, ?)"
+                    + " ON DUPLICATE KEY UPDATE `name` = VALUES(`name`) [0, 1, a, 0, 1, a]"),
+                    "mysql legacy upsert " + fake.log.get(0));
+        }
+        fake.clear();
+        try (var db = new FakeDatabase(fake, AnsiDialect.INSTANCE)) {
+            db.upsert(m, new String[] { "id" }, null);
+            check(fake.log.get(0).equals("U MERGE INTO \"tb2\" t USING (VALUES (?, ?, ?)) AS s(\"age\", \"id\", \"name\")"
+                    + " ON t.\"id\" = s.\"id\" WHEN MATCHED THEN UPDATE SET \"age\" = s.\"age\", \"name\" = s.\"name\""
+                    + " WHEN NOT MATCHED THEN INSERT (\"age\", \"id\", \"name\") VALUES (s.\"age\", s.\"id\", s.\"name\")"
+                    + " [0, 1, a]"), "ansi upsert " + fake.log.get(0));
+        }
+        fake.clear();
+        try (var db = new FakeDatabase(fake, H2Dialect.INSTANCE)) {
+            db.upsert(m, new String[] { "name" }, null);
+            check(!fake.log.get(0).contains("\"id\" = s.\"id\""), "h2 upsert update id " + fake.log.get(0));
+        }
+        System.out.println("upsert ok");
+    }
+
+    private static void updateBatch() throws Exception {
+        var fake = new FakeConnection();
+        try (var db = new FakeDatabase(fake, MySqlDialect.INSTANCE)) {
+            var list = new ArrayList<Map<String, Object>>();
+            for (var i = 0; i < 5; i++) {
+                var row = new HashMap<String, Object>();
+                row.put("id", i);
+                row.put("age", i * 10);
+                list.add(row);
+            }
+            // fake return 1 per statement
+            check(db.updateBatch(tb2.class, "id", list) == 2, "updateBatch count");
+            check(fake.log.get(0).startsWith(
+                    "U UPDATE `tb2` SET `age` = CASE `id` WHEN ? THEN ? WHEN ? THEN ? WHEN ? THEN ? WHEN ? THEN ? END"
+                            + " WHERE `id` IN (?, ?, ?, ?) [0, 0, 1, 10, 2, 20, 3, 30, 0, 1, 2, 3]"),
+                    "updateBatch case " + fake.log.get(0));
+            check(fake.log.get(1).equals("B UPDATE `tb2` SET `age` = ? WHERE 1=1 AND `id` = ? [40, 4]"),
+                    "updateBatch batch " + fake.log.get(1));
+
+            list.get(4).put("id", 1);
+            var error = "";
+            try {
+                db.updateBatch("tb2", "id", list);
+            } catch (Exception ex) {
+                error = ex.getMessage();
+            }
+            check(error.equals("list[4] id is repeat!"), "updateBatch repeat " + error);
+        }
+        System.out.println("updateBatch ok");
+    }
+
+    private static int count(String s, String sub) {
+        var n = 0;
+        for (var i = s.indexOf(sub); i >= 0; i = s.indexOf(sub, i + sub.length())) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * all instance field of class and super class equal
+     */
+    private static boolean sameFields(Object a, Object b) throws Exception {
+        for (var t = a.getClass(); t != Object.class; t = t.getSuperclass()) {
+            for (var f : t.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers()))
+                    continue;
+                f.setAccessible(true);
+                if (!Objects.equals(f.get(a), f.get(b)))
+                    return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,291 @@
+package cn.myafx.data;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * jdbc Connection without database, log executed sql and parameter
+ */
+public class FakeConnection {
+
+    /**
+     * executed sql: Q query, U update, E execute, B addBatch, X executeBatch
+     */
+    public final List<String> log = new ArrayList<>();
+    public String[] labels = new String[0];
+    public Object[][] rows = new Object[0][];
+    public long nextKey = 100;
+    /**
+     * next query count return no row
+     */
+    public int emptyQueryCount;
+    public int prepareCount;
+    public int executeCount;
+    /**
+     * sql type of setNull
+     */
+    public final List<Integer> nullTypes = new ArrayList<>();
+    /**
+     * getParameterMetaData call count, every parameter is INTEGER
+     */
+    public int metaDataCount;
+    /**
+     * wait per execute, like network round trip
+     */
+    public long latencyNanos;
+    public boolean logEnabled = true;
+
+    public Connection open() {
+        var closed = new boolean[] { false };
+        return (Connection) proxy(Connection.class, (p, m, a) -> {
+            switch (m.getName()) {
+                case "prepareStatement":
+                    this.prepareCount++;
+                    return this.statement(p, (String) a[0]);
+                case "createStatement":
+                    return this.statement(p, null);
+                case "close":
+                    closed[0] = true;
+                    return null;
+                case "isClosed":
+                    return closed[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "equals":
+                    return p == a[0];
+                default:
+                    return defaultValue(m.getReturnType());
+            }
+        });
+    }
+
+    public void clear() {
+        this.log.clear();
+        this.prepareCount = 0;
+        this.executeCount = 0;
+        this.nullTypes.clear();
+        this.metaDataCount = 0;
+    }
+
+    /**
+     * log line start with prefix
+     */
+    public List<String> find(String prefix) {
+        var list = new ArrayList<String>();
+        for (var s : this.log) {
+            if (s.startsWith(prefix))
+                list.add(s);
+        }
+        return list;
+    }
+
+    private PreparedStatement statement(Object connection, String sql) {
+        var params = new ArrayList<Object>();
+        var batch = new int[] { 0 };
+        var closed = new boolean[] { false };
+        return (PreparedStatement) proxy(PreparedStatement.class, (p, m, a) -> {
+            var name = m.getName();
+            switch (name) {
+                case "executeQuery":
+                    this.execute("Q ", a != null ? (String) a[0] : sql, params);
+                    if (this.emptyQueryCount > 0) {
+                        this.emptyQueryCount--;
+                        return resultSet(this.labels, new Object[0][]);
+                    }
+                    return resultSet(this.labels, this.rows);
+                case "executeUpdate":
+                    this.execute("U ", a != null ? (String) a[0] : sql, params);
+                    return updateCount(a != null ? (String) a[0] : sql);
+                case "execute":
+                    this.execute("E ", a != null ? (String) a[0] : sql, params);
+                    return false;
+                case "getUpdateCount":
+                    return 1;
+                case "getResultSet":
+                    return resultSet(this.labels, this.rows);
+                case "addBatch":
+                    if (this.logEnabled)
+                        this.log.add("B " + sql + " " + params);
+                    params.clear();
+                    batch[0]++;
+                    return null;
+                case "executeBatch": {
+                    this.execute("X ", sql, null);
+                    var counts = new int[batch[0]];
+                    Arrays.fill(counts, 1);
+                    batch[0] = 0;
+                    return counts;
+                }
+                case "getParameterMetaData":
+                    this.metaDataCount++;
+                    return parameterMetaData(sql);
+                case "getGeneratedKeys": {
+                    var keys = new Object[3][];
+                    for (var i = 0; i < keys.length; i++) {
+                        keys[i] = new Object[] { this.nextKey++ };
+                    }
+                    return resultSet(new String[] { "GENERATED_KEY" }, keys);
+                }
+                case "clearParameters":
+                    params.clear();
+                    return null;
+                case "clearBatch":
+                    batch[0] = 0;
+                    return null;
+                case "close":
+                    closed[0] = true;
+                    return null;
+                case "isClosed":
+                    return closed[0];
+                case "getConnection":
+                    return connection;
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "equals":
+                    return p == a[0];
+            }
+            if (name.equals("setNull")) {
+                this.nullTypes.add((Integer) a[1]);
+                params.add("NULL");
+                return null;
+            }
+            if (name.startsWith("set") && a != null && a.length >= 2 && a[0] instanceof Integer) {
+                params.add(a[1]);
+                return null;
+            }
+            return defaultValue(m.getReturnType());
+        });
+    }
+
+    private void execute(String type, String sql, List<Object> params) {
+        this.executeCount++;
+        if (this.logEnabled)
+            this.log.add(params == null ? type + sql : type + sql + " " + params);
+        if (params != null)
+            params.clear();
+        if (this.latencyNanos > 0)
+            LockSupport.parkNanos(this.latencyNanos);
+    }
+
+    /**
+     * row count of multi row insert, other 1
+     */
+    private static int updateCount(String sql) {
+        if (!sql.contains(" VALUES ("))
+            return 1;
+        var count = 1;
+        for (var i = sql.indexOf("), ("); i >= 0; i = sql.indexOf("), (", i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static ParameterMetaData parameterMetaData(String sql) {
+        var count = (int) sql.chars().filter(c -> c == '?').count();
+        return (ParameterMetaData) proxy(ParameterMetaData.class, (p, m, a) -> {
+            switch (m.getName()) {
+                case "getParameterCount":
+                    return count;
+                case "getParameterType":
+                    return Types.INTEGER;
+                default:
+                    return defaultValue(m.getReturnType());
+            }
+        });
+    }
+
+    private static ResultSet resultSet(String[] labels, Object[][] rows) {
+        var index = new int[] { -1 };
+        var wasNull = new boolean[] { false };
+        var metaData = (ResultSetMetaData) proxy(ResultSetMetaData.class, (p, m, a) -> {
+            switch (m.getName()) {
+                case "getColumnCount":
+                    return labels.length;
+                case "getColumnLabel":
+                case "getColumnName":
+                    return labels[(Integer) a[0] - 1];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                default:
+                    return defaultValue(m.getReturnType());
+            }
+        });
+        return (ResultSet) proxy(ResultSet.class, (p, m, a) -> {
+            var name = m.getName();
+            switch (name) {
+                case "next":
+                    return ++index[0] < rows.length;
+                case "getMetaData":
+                    return metaData;
+                case "wasNull":
+                    return wasNull[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+            }
+            if (name.startsWith("get") && a != null && a[0] instanceof Integer i) {
+                var value = rows[index[0]][i - 1];
+                wasNull[0] = value == null;
+                var type = m.getReturnType();
+                if (name.equals("getObject") && a.length == 2)
+                    type = (Class<?>) a[1];
+                return convert(value, type);
+            }
+            return defaultValue(m.getReturnType());
+        });
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null)
+            return defaultValue(type);
+        if (type == int.class || type == Integer.class)
+            return ((Number) value).intValue();
+        if (type == long.class || type == Long.class)
+            return ((Number) value).longValue();
+        if (type == double.class || type == Double.class)
+            return ((Number) value).doubleValue();
+        if (type == float.class || type == Float.class)
+            return ((Number) value).floatValue();
+        if (type == short.class || type == Short.class)
+            return ((Number) value).shortValue();
+        if (type == byte.class || type == Byte.class)
+            return ((Number) value).byteValue();
+        if (type == String.class)
+            return String.valueOf(value);
+        if (type == Timestamp.class && value instanceof java.util.Date d)
+            return new Timestamp(d.getTime());
+        return value;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class)
+            return false;
+        if (type == int.class)
+            return 0;
+        if (type == long.class)
+            return 0L;
+        if (type == double.class)
+            return 0d;
+        if (type == float.class)
+            return 0f;
+        if (type == short.class)
+            return (short) 0;
+        if (type == byte.class)
+            return (byte) 0;
+        return null;
+    }
+
+    private static Object proxy(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(FakeConnection.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+}
@@ -0,0 +1,29 @@
+package cn.myafx.data;
+
+import java.sql.Connection;
+
+import cn.myafx.data.dialect.Dialect;
+
+public class FakeDatabase extends Database {
+
+    private FakeConnection fake;
+    private Dialect dialect;
+
+    public FakeDatabase(FakeConnection fake, Dialect dialect) {
+        this.fake = fake;
+        this.dialect = dialect;
+    }
+
+    @Override
+    protected Dialect getDialect() {
+
+        return this.dialect;
+    }
+
+    @Override
+    protected Connection getConnection() throws Exception {
+
+        return this.fake.open();
+    }
+
+}
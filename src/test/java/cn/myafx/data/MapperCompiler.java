@@ -0,0 +1,65 @@
+package cn.myafx.data;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import cn.myafx.data.processor.ModelMapperProcessor;
+
+/**
+ * compile model source with ModelMapperProcessor at runtime
+ */
+public class MapperCompiler {
+
+    /**
+     * compile source to dir
+     * 
+     * @param dir     class output
+     * @param sources class name to source
+     * @param errors  error message of compile
+     * @return compile ok
+     */
+    public static boolean compile(Path dir, Map<String, String> sources, List<String> errors) throws Exception {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null)
+            throw new Exception("java compiler is null!");
+        var files = new ArrayList<JavaFileObject>();
+        for (var e : sources.entrySet()) {
+            var uri = URI.create("string:///" + e.getKey().replace('.', '/') + ".java");
+            var source = e.getValue();
+            files.add(new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            });
+        }
+        Files.createDirectories(dir);
+        var options = List.of("-d", dir.toString(), "-classpath", System.getProperty("java.class.path"),
+                "-processor", ModelMapperProcessor.class.getName());
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        var ok = compiler.getTask(null, null, diagnostics, options, null, files).call();
+        for (var d : diagnostics.getDiagnostics()) {
+            if (d.getKind() == Diagnostic.Kind.ERROR)
+                errors.add(d.getMessage(null));
+        }
+        return ok;
+    }
+
+    /**
+     * class path with dir
+     */
+    public static String classPath(Path dir) {
+        return System.getProperty("java.class.path") + File.pathSeparator + dir;
+    }
+}
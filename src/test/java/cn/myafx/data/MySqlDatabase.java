@@ -3,6 +3,9 @@ package cn.myafx.data;
 import java.sql.Connection;
 import java.sql.DriverManager;
 
+import cn.myafx.data.dialect.Dialect;
+import cn.myafx.data.dialect.MySqlDialect;
+
 public class MySqlDatabase extends Database {
 
     private String url;
@@ -16,9 +19,9 @@ public class MySqlDatabase extends Database {
     }
 
     @Override
-    protected String encodeColumn(String column) {
+    protected Dialect getDialect() {
 
-        return String.format("`%s`", column);
+        return MySqlDialect.INSTANCE;
     }
 
     @Override
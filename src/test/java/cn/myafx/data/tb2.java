@@ -0,0 +1,15 @@
+package cn.myafx.data;
+
+import java.io.Serializable;
+
+public class tb2 implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static int count;
+
+    public Integer id;
+
+    public String name;
+
+    public int age;
+}
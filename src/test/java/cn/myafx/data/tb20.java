@@ -0,0 +1,63 @@
+package cn.myafx.data;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public class tb20 {
+
+    public final static String[] LABELS = { "id", "name", "age", "total", "score", "enabled", "level", "weight",
+            "parentId", "rate", "deleted", "sort", "code", "title", "email", "remark", "price", "amount", "created",
+            "updated" };
+
+    public Integer id;
+
+    public String name;
+
+    public int age;
+
+    public long total;
+
+    public double score;
+
+    public boolean enabled;
+
+    public short level;
+
+    public float weight;
+
+    public Long parentId;
+
+    public Double rate;
+
+    public Boolean deleted;
+
+    public Integer sort;
+
+    public String code;
+
+    public String title;
+
+    public String email;
+
+    public String remark;
+
+    public BigDecimal price;
+
+    public BigDecimal amount;
+
+    public Date created;
+
+    public Date updated;
+
+    /**
+     * row of LABELS, odd row has null in boxed and object column
+     */
+    public static Object[] row(int i) {
+        var odd = i % 2 == 1;
+        var time = new Date(1_600_000_000_000L + i * 1000L);
+        return new Object[] { i, odd ? null : "n" + i, i % 100, i * 1000L, i * 0.5, i % 3 == 0, (short) (i % 10),
+                i * 0.25f, odd ? null : (long) i / 2, odd ? null : i * 0.1, odd ? null : i % 2 == 0, i, "c" + i,
+                odd ? null : "t" + i, "e" + i + "@x.cn", odd ? null : "r" + i, new BigDecimal(i + ".50"),
+                odd ? null : new BigDecimal(i * 3), time, odd ? null : time };
+    }
+}
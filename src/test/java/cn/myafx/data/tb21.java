@@ -0,0 +1,24 @@
+package cn.myafx.data;
+
+import java.time.LocalDateTime;
+
+public class tb21 extends tb20 {
+
+    private long version;
+
+    protected Integer extra;
+
+    LocalDateTime changed;
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Integer getExtra() {
+        return extra;
+    }
+
+    public LocalDateTime getChanged() {
+        return changed;
+    }
+}
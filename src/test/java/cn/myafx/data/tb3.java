@@ -0,0 +1,4 @@
+package cn.myafx.data;
+
+public record tb3(Integer id, String name, int age) {
+}